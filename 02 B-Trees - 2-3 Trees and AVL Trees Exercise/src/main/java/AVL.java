@@ -1,8 +1,205 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class AVL<T extends Comparable<T>> {
+public class AVL<T extends Comparable<T>> implements Iterable<T> {
 
     private Node<T> root;
+    private final boolean multiset;
+    private int modCount;
+
+    public AVL() {
+        this(false);
+    }
+
+    // In multiset mode equal items share one node that counts them; size, rank, select
+    // and iteration all see every occurrence.
+    public AVL(boolean multiset) {
+        this.multiset = multiset;
+    }
+
+    public static <T extends Comparable<T>> AVL<T> fromSorted(Iterator<T> items) {
+        return fromSorted(items, false);
+    }
+
+    public static <T extends Comparable<T>> AVL<T> fromSorted(Iterator<T> items, boolean multiset) {
+        AVL<T> tree = new AVL<>(multiset);
+        tree.loadSorted(items);
+        return tree;
+    }
+
+    // Both trees are consumed: their nodes are relinked into the result and they are left empty.
+    public static <T extends Comparable<T>> AVL<T> join(AVL<T> left, T pivot, AVL<T> right) {
+        AVL<T> tree = left.newTree();
+        joinInto(tree, left, pivot, right);
+        return tree;
+    }
+
+    // Keeps the elements less than item in this tree and moves the rest into the returned one.
+    public AVL<T> split(T item) {
+        AVL<T> greater = this.newTree();
+        this.splitInto(item, greater);
+        return greater;
+    }
+
+    // The bodies of join and split, filling a tree from the caller's newTree so that
+    // subclasses can declare them with their own return type.
+    protected static <T extends Comparable<T>> void joinInto(AVL<T> tree, AVL<T> left, T pivot, AVL<T> right) {
+        if ((left.root != null && left.getMax(left.root).value.compareTo(pivot) >= 0)
+                || (right.root != null && right.getMin(right.root).value.compareTo(pivot) <= 0)) {
+            throw new IllegalArgumentException();
+        }
+
+        tree.join(left.root, tree.newNode(pivot), right.root);
+        left.root = null;
+        right.root = null;
+        left.modCount++;
+        right.modCount++;
+    }
+
+    protected void splitInto(T item, AVL<T> greater) {
+        AVL<T> scratch = this.newTree();
+        List<Node<T>> parts = scratch.split(this.root, item);
+
+        this.root = parts.get(0);
+        greater.root = parts.get(1);
+        this.modCount++;
+    }
+
+    // Subclasses that augment nodes override these so that every node and every tree
+    // produced by insert, fromSorted, join and split carries their extra state.
+    protected Node<T> newNode(T value) {
+        return new Node<>(value);
+    }
+
+    protected AVL<T> newTree() {
+        return new AVL<>(this.multiset);
+    }
+
+    protected void augment(Node<T> node) {
+    }
+
+    protected void loadSorted(Iterator<T> items) {
+        List<T> values = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        while (items.hasNext()) {
+            T item = items.next();
+            int last = values.size() - 1;
+            int cmp = last < 0 ? 1 : item.compareTo(values.get(last));
+            if (cmp < 0 || (cmp == 0 && !this.multiset)) {
+                throw new IllegalArgumentException();
+            }
+            if (cmp == 0) {
+                counts.set(last, counts.get(last) + 1);
+            } else {
+                values.add(item);
+                counts.add(1);
+            }
+        }
+
+        this.root = this.build(values, counts, 0, values.size() - 1, null);
+        this.modCount++;
+    }
+
+    private Node<T> build(List<T> values, List<Integer> counts, int from, int to, Node<T> parent) {
+        if (from > to) {
+            return null;
+        }
+
+        int mid = (from + to) >>> 1;
+        Node<T> node = this.newNode(values.get(mid));
+        node.count = counts.get(mid);
+        node.parent = parent;
+        node.left = this.build(values, counts, from, mid - 1, node);
+        node.right = this.build(values, counts, mid + 1, to, node);
+        this.update(node);
+        return node;
+    }
+
+    private List<Node<T>> split(Node<T> node, T item) {
+        List<Node<T>> parts = new ArrayList<>(2);
+        if (node == null) {
+            parts.add(null);
+            parts.add(null);
+            return parts;
+        }
+
+        Node<T> left = this.detach(node.left);
+        Node<T> right = this.detach(node.right);
+        node.left = node.right = null;
+
+        if (item.compareTo(node.value) <= 0) {
+            List<Node<T>> leftParts = this.split(left, item);
+            parts.add(leftParts.get(0));
+            parts.add(this.join(leftParts.get(1), node, right));
+        } else {
+            List<Node<T>> rightParts = this.split(right, item);
+            parts.add(this.join(left, node, rightParts.get(0)));
+            parts.add(rightParts.get(1));
+        }
+        return parts;
+    }
+
+    private Node<T> detach(Node<T> node) {
+        if (node != null) {
+            node.parent = null;
+        }
+        return node;
+    }
+
+    // Hangs pivot off the spine of the taller tree where heights match, then retraces,
+    // so the cost is proportional to the height difference.
+    private Node<T> join(Node<T> left, Node<T> pivot, Node<T> right) {
+        pivot.parent = null;
+        if (height(left) > height(right) + 1) {
+            this.root = left;
+            Node<T> parent = null;
+            Node<T> node = left;
+            while (height(node) > height(right) + 1) {
+                parent = node;
+                node = node.right;
+            }
+            this.link(pivot, node, right);
+            parent.right = pivot;
+            pivot.parent = parent;
+            this.retrace(parent);
+        } else if (height(right) > height(left) + 1) {
+            this.root = right;
+            Node<T> parent = null;
+            Node<T> node = right;
+            while (height(node) > height(left) + 1) {
+                parent = node;
+                node = node.left;
+            }
+            this.link(pivot, left, node);
+            parent.left = pivot;
+            pivot.parent = parent;
+            this.retrace(parent);
+        } else {
+            this.link(pivot, left, right);
+            this.root = pivot;
+        }
+        return this.root;
+    }
+
+    private void link(Node<T> node, Node<T> left, Node<T> right) {
+        node.left = left;
+        node.right = right;
+        if (left != null) {
+            left.parent = node;
+        }
+        if (right != null) {
+            right.parent = node;
+        }
+        this.update(node);
+    }
 
     public Node<T> getRoot() {
         return this.root;
@@ -12,135 +209,432 @@ public class AVL<T extends Comparable<T>> {
         return height(this.root);
     }
 
+    public int size() {
+        return size(this.root);
+    }
+
+    public void clear() {
+        this.root = null;
+        this.modCount++;
+    }
+
+    public boolean isMultiset() {
+        return this.multiset;
+    }
+
+    public int count(T item) {
+        Node<T> node = this.search(item);
+        return node == null ? 0 : node.count;
+    }
+
     public boolean contains(T item) {
-        Node<T> node = this.search(this.root, item);
+        Node<T> node = this.search(item);
         return node != null;
     }
 
     public void insert(T item) {
-        this.root = this.insert(this.root, item);
+        this.insertFrom(this.root, item);
+    }
+
+    // A cursor for runs of nearby inserts, such as sorted or reverse-sorted loads.
+    public Finger finger() {
+        return new Finger();
+    }
+
+    // Descends from start, which must be an ancestor of item's position, and returns
+    // the node that holds item afterwards.
+    private Node<T> insertFrom(Node<T> start, T item) {
+        if (this.root == null) {
+            this.root = this.leaf(item);
+            this.modCount++;
+            return this.root;
+        }
+
+        Node<T> parent = null;
+        Node<T> node = start;
+        int cmp = 0;
+        while (node != null) {
+            cmp = item.compareTo(node.value);
+            if (cmp == 0) {
+                if (this.multiset) {
+                    node.count++;
+                    this.modCount++;
+                    this.refreshAggregates(node);
+                }
+                return node;
+            }
+            parent = node;
+            node = cmp < 0 ? node.left : node.right;
+        }
+
+        Node<T> child = this.leaf(item);
+        child.parent = parent;
+        if (cmp < 0) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
+
+        this.modCount++;
+        this.retrace(parent);
+        return child;
+    }
+
+    public T floor(T item) {
+        return valueOf(this.floorNode(item));
+    }
+
+    public T ceiling(T item) {
+        return valueOf(this.ceilingNode(item));
+    }
+
+    public T lower(T item) {
+        return valueOf(this.lowerNode(item));
+    }
+
+    public T higher(T item) {
+        return valueOf(this.higherNode(item));
+    }
+
+    public int rank(T item) {
+        return this.countLess(item, false);
+    }
+
+    public T select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException();
+        }
+
+        return this.selectNode(index).value;
+    }
+
+    public int countInRange(T lo, T hi) {
+        if (lo.compareTo(hi) > 0) {
+            return 0;
+        }
+        return this.countLess(hi, true) - this.countLess(lo, false);
+    }
+
+    public T percentile(double percent) {
+        if (percent < 0 || percent > 100 || this.root == null) {
+            throw new IllegalArgumentException();
+        }
+
+        int index = (int) Math.ceil(percent / 100 * size()) - 1;
+        return this.select(Math.max(index, 0));
+    }
+
+    protected int countLess(T item, boolean inclusive) {
+        int count = 0;
+        Node<T> node = this.root;
+        while (node != null) {
+            int cmp = item.compareTo(node.value);
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                node = node.left;
+            } else {
+                count += size(node.left) + node.count;
+                node = node.right;
+            }
+        }
+        return count;
     }
 
     public void eachInOrder(Consumer<T> consumer) {
         this.eachInOrder(this.root, consumer);
     }
 
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(this.spliterator());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new InOrderSpliterator(this.firstNode(), 0, this.size(), this.modCount);
+    }
+
+    // An immutable copy for read-only phases; later changes to the tree do not show in it.
+    public EytzingerSnapshot<T> freeze() {
+        return EytzingerSnapshot.fromSorted(this.iterator());
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    // Removes every occurrence of item; removeOne, deleteMin and deleteMax remove a single one.
     public void delete(T item) {
-        this.root = delete(this.root, item);
+        Node<T> node = this.search(item);
+        if (node != null) {
+            this.unlink(node);
+        }
     }
 
-    private Node<T> delete(Node<T> node, T item) {
-        if (node == null) {
-            return null;
+    public void removeOne(T item) {
+        Node<T> node = this.search(item);
+        if (node != null) {
+            this.removeOne(node);
         }
+    }
 
-        int cmp = item.compareTo(node.value);
-        if (cmp < 0) {
-            node.left = this.delete(node.left, item);
-        } else if (cmp > 0) {
-            node.right = this.delete(node.right, item);
-        } else {
-            node = deleteNode(node);
+    public void deleteMin() {
+        if (this.root != null) {
+            this.removeOne(this.getMin(this.root));
         }
-        if (node != null) {
-            updateHeight(node);
-            node = balance(node);
+    }
+
+    public void deleteMax() {
+        if (this.root != null) {
+            this.removeOne(this.getMax(this.root));
         }
-        return node;
     }
 
-    private Node<T> deleteNode(Node<T> node) {
-        if (node.left == null) return node.right;
-        if (node.right == null) return node.left;
-        Node<T> rightMin = new Node<>(this.getMin(node.right));
-        rightMin.left = node.left;
-        rightMin.right = this.deleteMin(node.right);
-        return rightMin;
+    private void removeOne(Node<T> node) {
+        if (node.count > 1) {
+            node.count--;
+            this.modCount++;
+            this.refreshAggregates(node);
+        } else {
+            this.unlink(node);
+        }
     }
 
-    private T getMin(Node<T> node) {
-        if (node.left != null) return getMin(node.left);
-        return node.value;
+    private void refreshAggregates(Node<T> node) {
+        while (node != null) {
+            this.updateAggregates(node);
+            node = node.parent;
+        }
     }
 
+    private void unlink(Node<T> node) {
+        Node<T> retraceFrom;
+        if (node.left != null && node.right != null) {
+            Node<T> successor = this.getMin(node.right);
+            if (successor.parent == node) {
+                retraceFrom = successor;
+            } else {
+                retraceFrom = successor.parent;
+                retraceFrom.left = successor.right;
+                if (successor.right != null) {
+                    successor.right.parent = retraceFrom;
+                }
+                successor.right = node.right;
+                successor.right.parent = successor;
+            }
 
-    public void deleteMin() {
-        this.root = deleteMin(root);
+            successor.left = node.left;
+            successor.left.parent = successor;
+            successor.height = node.height;
+            this.replaceChild(node.parent, node, successor);
+        } else {
+            Node<T> child = node.left != null ? node.left : node.right;
+            retraceFrom = node.parent;
+            this.replaceChild(node.parent, node, child);
+        }
+
+        node.left = node.right = node.parent = null;
+        this.modCount++;
+        this.retrace(retraceFrom);
+    }
+
+    // Walks up from node rebalancing until a subtree keeps its previous height,
+    // then only the sizes and aggregates of the remaining ancestors need refreshing.
+    private void retrace(Node<T> node) {
+        while (node != null) {
+            int oldHeight = node.height;
+            Node<T> parent = node.parent;
+
+            this.update(node);
+            Node<T> subtree = this.balance(node);
+            if (subtree != node) {
+                this.replaceChild(parent, node, subtree);
+            }
+
+            node = parent;
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+
+        while (node != null) {
+            this.updateAggregates(node);
+            node = node.parent;
+        }
     }
 
-    private Node<T> deleteMin(Node<T> node) {
-        if (node == null) return null;
-        if (node.left == null) {
-            return node.right;
+    private void replaceChild(Node<T> parent, Node<T> oldChild, Node<T> newChild) {
+        if (newChild != null) {
+            newChild.parent = parent;
         }
 
-        node.left = deleteMin(node.left);
+        if (parent == null) {
+            this.root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
 
-        updateHeight(node);
-        return balance(node);
+    // Bumped by every change that iteration could observe; iterators and views compare it
+    // against the value they started with to fail fast.
+    protected int modCount() {
+        return this.modCount;
     }
 
-    public void deleteMax() {
-        this.root = deleteMax(root);
+    protected Node<T> firstNode() {
+        return this.root == null ? null : this.getMin(this.root);
+    }
+
+    protected Node<T> lastNode() {
+        return this.root == null ? null : this.getMax(this.root);
+    }
+
+    protected Node<T> floorNode(T item) {
+        return this.boundNode(item, true, true);
+    }
+
+    protected Node<T> ceilingNode(T item) {
+        return this.boundNode(item, false, true);
+    }
+
+    protected Node<T> lowerNode(T item) {
+        return this.boundNode(item, true, false);
+    }
+
+    protected Node<T> higherNode(T item) {
+        return this.boundNode(item, false, false);
     }
 
-    private Node<T> deleteMax(Node<T> node) {
-        if (node == null) return null;
-        if (node.right == null) {
-            return node.left;
+    // The closest node below (or above) item, accepting an equal one when inclusive.
+    private Node<T> boundNode(T item, boolean below, boolean inclusive) {
+        Node<T> best = null;
+        Node<T> node = this.root;
+        while (node != null) {
+            int cmp = item.compareTo(node.value);
+            if (cmp == 0 && inclusive) {
+                return node;
+            }
+            if (below ? cmp > 0 : cmp < 0) {
+                best = node;
+                node = below ? node.right : node.left;
+            } else {
+                node = below ? node.left : node.right;
+            }
         }
+        return best;
+    }
 
-        node.right = deleteMax(node.right);
+    protected Node<T> predecessor(Node<T> node) {
+        if (node.left != null) {
+            return this.getMax(node.left);
+        }
 
-        updateHeight(node);
-        return balance(node);
+        Node<T> parent = node.parent;
+        while (parent != null && parent.left == node) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
     }
 
-    private void eachInOrder(Node<T> node, Consumer<T> action) {
-        if (node == null) {
-            return;
+    protected Node<T> successor(Node<T> node) {
+        if (node.right != null) {
+            return this.getMin(node.right);
         }
 
-        this.eachInOrder(node.left, action);
-        action.accept(node.value);
-        this.eachInOrder(node.right, action);
+        Node<T> parent = node.parent;
+        while (parent != null && parent.right == node) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
     }
 
-    private Node<T> insert(Node<T> node, T item) {
-        if (node == null) {
-            return new Node<>(item);
+    private int rankOf(Node<T> node) {
+        int rank = size(node.left);
+        while (node.parent != null) {
+            if (node.parent.right == node) {
+                rank += size(node.parent.left) + node.parent.count;
+            }
+            node = node.parent;
         }
+        return rank;
+    }
 
-        int cmp = item.compareTo(node.value);
-        if (cmp < 0) {
-            node.left = this.insert(node.left, item);
-        } else if (cmp > 0) {
-            node.right = this.insert(node.right, item);
+    private Node<T> selectNode(int index) {
+        Node<T> node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index >= leftSize + node.count) {
+                index -= leftSize + node.count;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node<T> getMin(Node<T> node) {
+        while (node.left != null) {
+            node = node.left;
         }
+        return node;
+    }
 
-        this.updateHeight(node);
-        return balance(node);
+    private Node<T> getMax(Node<T> node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
     }
 
+    private void eachInOrder(Node<T> node, Consumer<T> action) {
+        if (node == null) {
+            return;
+        }
+
+        this.eachInOrder(node.left, action);
+        for (int i = 0; i < node.count; i++) {
+            action.accept(node.value);
+        }
+        this.eachInOrder(node.right, action);
+    }
 
     private Node<T> rotateLeft(Node<T> node) {
         Node<T> right = node.right;
         node.right = right.left;
+        if (node.right != null) {
+            node.right.parent = node;
+        }
         right.left = node;
+        right.parent = node.parent;
+        node.parent = right;
 
-        this.updateHeight(node);
-        this.updateHeight(right);
+        this.update(node);
+        this.update(right);
 
         return right;
     }
 
     private Node<T> rotateRight(Node<T> node) {
         Node<T> left = node.left;
-        node.left = node.left.right;
+        node.left = left.right;
+        if (node.left != null) {
+            node.left.parent = node;
+        }
         left.right = node;
+        left.parent = node.parent;
+        node.parent = left;
 
-        this.updateHeight(node);
-        this.updateHeight(left);
+        this.update(node);
+        this.update(left);
 
         return left;
     }
@@ -166,33 +660,232 @@ public class AVL<T extends Comparable<T>> {
         return node;
     }
 
-    private Node<T> search(Node<T> node, T item) {
-        if (node == null) {
-            return null;
-        }
-
-        int cmp = item.compareTo(node.value);
-        if (cmp < 0) {
-            return search(node.left, item);
-        } else if (cmp > 0) {
-            return search(node.right, item);
+    protected Node<T> search(T item) {
+        Node<T> node = this.root;
+        while (node != null) {
+            int cmp = item.compareTo(node.value);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                return node;
+            }
         }
 
-        return node;
+        return null;
     }
 
     private int balanceFactor(Node<T> node) {
         return height(node.left) - height(node.right);
     }
 
-    private int height(Node<T> node) {
+    private static <T extends Comparable<T>> T valueOf(Node<T> node) {
+        return node == null ? null : node.value;
+    }
+
+    private static int height(Node<?> node) {
         if (node == null) {
             return 0;
         }
         return node.height;
     }
 
-    private void updateHeight(Node<T> node) {
-        node.height = Math.max(this.height(node.left), this.height(node.right)) + 1;
+    private static int size(Node<?> node) {
+        if (node == null) {
+            return 0;
+        }
+        return node.size;
+    }
+
+    private Node<T> leaf(T item) {
+        Node<T> node = this.newNode(item);
+        this.update(node);
+        return node;
+    }
+
+    private void update(Node<T> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        this.updateAggregates(node);
+    }
+
+    private void updateAggregates(Node<T> node) {
+        node.size = size(node.left) + size(node.right) + node.count;
+        this.augment(node);
+    }
+
+    // Remembers the node of the last insert together with its in-order neighbours. An
+    // item that falls between them goes straight into the one free slot there, since
+    // rotations never change neighbours; anything else climbs from the finger only as
+    // far as the nearest ancestor whose subtree covers the item. Changes made through
+    // the tree itself invalidate the cached neighbours and send the next insert to the root.
+    //
+    // Far-apart keys would make every climb longer than a descent from the root, so a
+    // climb that costs more than CLIMB_LIMIT comparisons turns the finger cold: it then
+    // inserts from the root, exactly like AVL.insert, and skips the neighbour checks.
+    // It warms up again once an insert lands next to the previous one. On random input
+    // the finger therefore costs what insert does, not more. The saving is in comparisons
+    // only: every insert still refreshes subtree sizes on the way to the root, in O(log n).
+    public class Finger {
+        private static final int CLIMB_LIMIT = 4;
+
+        private Node<T> node;
+        private Node<T> lower;
+        private Node<T> upper;
+        private int expectedModCount;
+        private boolean cold;
+
+        private Finger() {
+        }
+
+        public void insert(T item) {
+            if (this.node == null || this.expectedModCount != modCount) {
+                this.moveTo(insertFrom(root, item));
+                return;
+            }
+            if (this.cold) {
+                Node<T> previous = this.node;
+                this.moveTo(insertFrom(root, item));
+                this.cold = this.lower != previous && this.upper != previous && this.node != previous;
+                return;
+            }
+
+            int cmp = item.compareTo(this.node.value);
+            Node<T> previous = this.node;
+            if (cmp > 0 && (this.upper == null || item.compareTo(this.upper.value) < 0)) {
+                Node<T> inserted = insertFrom(previous.right == null ? previous : this.upper, item);
+                this.set(inserted, previous, this.upper);
+            } else if (cmp < 0 && (this.lower == null || item.compareTo(this.lower.value) > 0)) {
+                Node<T> inserted = insertFrom(previous.left == null ? previous : this.lower, item);
+                this.set(inserted, this.lower, previous);
+            } else if (cmp == 0) {
+                insertFrom(previous, item);
+                this.expectedModCount = modCount;
+            } else {
+                Node<T> start = this.climb(item, cmp > 0);
+                this.moveTo(insertFrom(start == null ? root : start, item));
+                this.cold = start == null;
+            }
+        }
+
+        // The nearest ancestor whose subtree covers item, or null once that would take
+        // more than CLIMB_LIMIT comparisons.
+        private Node<T> climb(T item, boolean right) {
+            int budget = CLIMB_LIMIT;
+            Node<T> node = this.node;
+            while (node.parent != null) {
+                Node<T> parent = node.parent;
+                if (right ? parent.left == node : parent.right == node) {
+                    if (budget-- == 0) {
+                        return null;
+                    }
+                    int cmp = item.compareTo(parent.value);
+                    if (cmp == 0) {
+                        return parent;
+                    }
+                    if (right ? cmp < 0 : cmp > 0) {
+                        return node;
+                    }
+                }
+                node = parent;
+            }
+            return node;
+        }
+
+        private void moveTo(Node<T> node) {
+            this.set(node, predecessor(node), successor(node));
+        }
+
+        private void set(Node<T> node, Node<T> lower, Node<T> upper) {
+            this.node = node;
+            this.lower = lower;
+            this.upper = upper;
+            this.expectedModCount = modCount;
+        }
+    }
+
+    // Covers the next remaining occurrences in order, starting after the first taken
+    // copies of current. Splitting at the median by rank keeps both halves exactly sized,
+    // and advancing follows parent links. Changing the tree behind a spliterator makes
+    // its next step throw ConcurrentModificationException.
+    private class InOrderSpliterator implements Spliterator<T> {
+        private Node<T> current;
+        private int taken;
+        private int remaining;
+        private final int expectedModCount;
+
+        InOrderSpliterator(Node<T> current, int taken, int remaining, int expectedModCount) {
+            this.current = current;
+            this.taken = taken;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (this.remaining == 0) {
+                return false;
+            }
+
+            T value = this.current.value;
+            this.advance();
+            action.accept(value);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (this.remaining > 0) {
+                T value = this.current.value;
+                this.advance();
+                action.accept(value);
+            }
+        }
+
+        private void advance() {
+            if (this.expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            this.remaining--;
+            if (++this.taken == this.current.count) {
+                this.current = successor(this.current);
+                this.taken = 0;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (this.remaining < 2) {
+                return null;
+            }
+            if (this.expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            int half = this.remaining / 2;
+            int target = rankOf(this.current) + this.taken + half;
+            Node<T> middle = selectNode(target);
+            Spliterator<T> prefix = new InOrderSpliterator(this.current, this.taken, half, this.expectedModCount);
+            this.current = middle;
+            this.taken = target - rankOf(middle);
+            this.remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            int characteristics = ORDERED | SORTED | SIZED | SUBSIZED | NONNULL;
+            return multiset ? characteristics : characteristics | DISTINCT;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null;
+        }
     }
 }
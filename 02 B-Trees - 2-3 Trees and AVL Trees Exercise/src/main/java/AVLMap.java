@@ -0,0 +1,616 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+// A NavigableMap over an AVL of entries ordered by key. Sub, head, tail and descending
+// maps are views over the same tree that only carry their bounds and direction, so they
+// navigate and iterate in O(log n + k) without copying, and size() costs two rank queries.
+public class AVLMap<K extends Comparable<K>, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    private final AVL<MapEntry<K, V>> tree;
+
+    private final K lo;
+    private final boolean loInclusive;
+    private final K hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    public AVLMap() {
+        this(new AVL<>(), null, false, null, false, false);
+    }
+
+    private AVLMap(AVL<MapEntry<K, V>> tree, K lo, boolean loInclusive, K hi, boolean hiInclusive, boolean descending) {
+        this.tree = tree;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    @Override
+    public int size() {
+        if (this.lo == null && this.hi == null) {
+            return this.tree.size();
+        }
+
+        int upTo = this.hi == null ? this.tree.size() : this.tree.countLess(probe(this.hi), this.hiInclusive);
+        int below = this.lo == null ? 0 : this.tree.countLess(probe(this.lo), !this.loInclusive);
+        return Math.max(upTo - below, 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.node(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<MapEntry<K, V>> node = this.node(key);
+        return node == null ? null : node.value.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (!this.inRange(key)) {
+            throw new IllegalArgumentException();
+        }
+
+        Node<MapEntry<K, V>> node = this.tree.search(probe(key));
+        if (node != null) {
+            return node.value.setValue(value);
+        }
+
+        this.tree.insert(new MapEntry<>(key, value));
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<MapEntry<K, V>> node = this.node(key);
+        if (node == null) {
+            return null;
+        }
+
+        this.tree.delete(node.value);
+        return node.value.value;
+    }
+
+    @Override
+    public void clear() {
+        if (this.lo == null && this.hi == null) {
+            this.tree.clear();
+        } else {
+            super.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(AVLMap.this, AVLMap.this.first()) {
+                    @Override
+                    public Entry<K, V> next() {
+                        return this.nextNode().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return AVLMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return this.descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return snapshot(this.first());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return snapshot(this.last());
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        return this.poll(this.first());
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        return this.poll(this.last());
+    }
+
+    @Override
+    public K firstKey() {
+        return key(this.first());
+    }
+
+    @Override
+    public K lastKey() {
+        return key(this.last());
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return snapshot(this.descending ? this.absHigher(key) : this.absLower(key));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keyOrNull(this.descending ? this.absHigher(key) : this.absLower(key));
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return snapshot(this.descending ? this.absCeiling(key) : this.absFloor(key));
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keyOrNull(this.descending ? this.absCeiling(key) : this.absFloor(key));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return snapshot(this.descending ? this.absFloor(key) : this.absCeiling(key));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keyOrNull(this.descending ? this.absFloor(key) : this.absCeiling(key));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return snapshot(this.descending ? this.absLower(key) : this.absHigher(key));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keyOrNull(this.descending ? this.absLower(key) : this.absHigher(key));
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return new AVLMap<>(this.tree, this.lo, this.loInclusive, this.hi, this.hiInclusive, !this.descending);
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return new KeySet<>(this);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return this.navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return this.descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        Objects.requireNonNull(fromKey);
+        Objects.requireNonNull(toKey);
+        if (this.descending) {
+            return this.view(toKey, toInclusive, fromKey, fromInclusive);
+        }
+        return this.view(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        Objects.requireNonNull(toKey);
+        if (this.descending) {
+            return this.view(toKey, inclusive, null, false);
+        }
+        return this.view(null, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        Objects.requireNonNull(fromKey);
+        if (this.descending) {
+            return this.view(null, false, fromKey, inclusive);
+        }
+        return this.view(fromKey, inclusive, null, false);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return this.subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return this.headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return this.tailMap(fromKey, true);
+    }
+
+    // Bounds are given in ascending order; a null bound keeps this view's own one.
+    private AVLMap<K, V> view(K newLo, boolean newLoInclusive, K newHi, boolean newHiInclusive) {
+        if (newLo != null && newHi != null && newLo.compareTo(newHi) > 0) {
+            throw new IllegalArgumentException();
+        }
+        if ((newLo != null && !this.inRange(newLo, newLoInclusive))
+                || (newHi != null && !this.inRange(newHi, newHiInclusive))) {
+            throw new IllegalArgumentException();
+        }
+
+        return new AVLMap<>(this.tree,
+                newLo != null ? newLo : this.lo, newLo != null ? newLoInclusive : this.loInclusive,
+                newHi != null ? newHi : this.hi, newHi != null ? newHiInclusive : this.hiInclusive,
+                this.descending);
+    }
+
+    private Node<MapEntry<K, V>> first() {
+        return this.descending ? this.absHighest() : this.absLowest();
+    }
+
+    private Node<MapEntry<K, V>> last() {
+        return this.descending ? this.absLowest() : this.absHighest();
+    }
+
+    private Node<MapEntry<K, V>> next(Node<MapEntry<K, V>> node) {
+        Node<MapEntry<K, V>> next = this.descending ? this.tree.predecessor(node) : this.tree.successor(node);
+        return next == null || !this.inRange(next.value.key) ? null : next;
+    }
+
+    private Entry<K, V> poll(Node<MapEntry<K, V>> node) {
+        if (node == null) {
+            return null;
+        }
+
+        Entry<K, V> entry = snapshot(node);
+        this.tree.delete(node.value);
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<MapEntry<K, V>> node(Object key) {
+        K k = (K) Objects.requireNonNull(key);
+        return this.inRange(k) ? this.tree.search(probe(k)) : null;
+    }
+
+    private Node<MapEntry<K, V>> absLowest() {
+        Node<MapEntry<K, V>> node = this.lo == null ? this.tree.firstNode()
+                : this.loInclusive ? this.tree.ceilingNode(probe(this.lo)) : this.tree.higherNode(probe(this.lo));
+        return node == null || this.tooHigh(node.value.key) ? null : node;
+    }
+
+    private Node<MapEntry<K, V>> absHighest() {
+        Node<MapEntry<K, V>> node = this.hi == null ? this.tree.lastNode()
+                : this.hiInclusive ? this.tree.floorNode(probe(this.hi)) : this.tree.lowerNode(probe(this.hi));
+        return node == null || this.tooLow(node.value.key) ? null : node;
+    }
+
+    private Node<MapEntry<K, V>> absCeiling(K key) {
+        if (this.tooLow(key)) {
+            return this.absLowest();
+        }
+        Node<MapEntry<K, V>> node = this.tree.ceilingNode(probe(key));
+        return node == null || this.tooHigh(node.value.key) ? null : node;
+    }
+
+    private Node<MapEntry<K, V>> absHigher(K key) {
+        if (this.tooLow(key)) {
+            return this.absLowest();
+        }
+        Node<MapEntry<K, V>> node = this.tree.higherNode(probe(key));
+        return node == null || this.tooHigh(node.value.key) ? null : node;
+    }
+
+    private Node<MapEntry<K, V>> absFloor(K key) {
+        if (this.tooHigh(key)) {
+            return this.absHighest();
+        }
+        Node<MapEntry<K, V>> node = this.tree.floorNode(probe(key));
+        return node == null || this.tooLow(node.value.key) ? null : node;
+    }
+
+    private Node<MapEntry<K, V>> absLower(K key) {
+        if (this.tooHigh(key)) {
+            return this.absHighest();
+        }
+        Node<MapEntry<K, V>> node = this.tree.lowerNode(probe(key));
+        return node == null || this.tooLow(node.value.key) ? null : node;
+    }
+
+    private boolean tooLow(K key) {
+        if (this.lo == null) {
+            return false;
+        }
+        int cmp = key.compareTo(this.lo);
+        return cmp < 0 || (cmp == 0 && !this.loInclusive);
+    }
+
+    private boolean tooHigh(K key) {
+        if (this.hi == null) {
+            return false;
+        }
+        int cmp = key.compareTo(this.hi);
+        return cmp > 0 || (cmp == 0 && !this.hiInclusive);
+    }
+
+    private boolean inRange(K key) {
+        return !this.tooLow(key) && !this.tooHigh(key);
+    }
+
+    // An exclusive bound may sit on this view's boundary even when that key is excluded.
+    private boolean inRange(K key, boolean inclusive) {
+        if (inclusive) {
+            return this.inRange(key);
+        }
+        return (this.lo == null || key.compareTo(this.lo) >= 0) && (this.hi == null || key.compareTo(this.hi) <= 0);
+    }
+
+    private static <K extends Comparable<K>, V> MapEntry<K, V> probe(K key) {
+        return new MapEntry<>(key, null);
+    }
+
+    private static <K extends Comparable<K>, V> Entry<K, V> snapshot(Node<MapEntry<K, V>> node) {
+        return node == null ? null : new SimpleImmutableEntry<>(node.value);
+    }
+
+    private static <K extends Comparable<K>, V> K keyOrNull(Node<MapEntry<K, V>> node) {
+        return node == null ? null : node.value.key;
+    }
+
+    private static <K extends Comparable<K>, V> K key(Node<MapEntry<K, V>> node) {
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.value.key;
+    }
+
+    private abstract static class EntryIterator<K extends Comparable<K>, V, E> implements Iterator<E> {
+        private final AVLMap<K, V> map;
+        private Node<MapEntry<K, V>> next;
+        private Node<MapEntry<K, V>> lastReturned;
+        private int expectedModCount;
+
+        EntryIterator(AVLMap<K, V> map, Node<MapEntry<K, V>> first) {
+            this.map = map;
+            this.next = first;
+            this.expectedModCount = map.tree.modCount();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        Node<MapEntry<K, V>> nextNode() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            if (this.expectedModCount != this.map.tree.modCount()) {
+                throw new ConcurrentModificationException();
+            }
+            this.lastReturned = this.next;
+            this.next = this.map.next(this.next);
+            return this.lastReturned;
+        }
+
+        // Deletion relinks nodes rather than copying values, so next stays valid.
+        @Override
+        public void remove() {
+            if (this.lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (this.expectedModCount != this.map.tree.modCount()) {
+                throw new ConcurrentModificationException();
+            }
+            this.map.tree.delete(this.lastReturned.value);
+            this.expectedModCount = this.map.tree.modCount();
+            this.lastReturned = null;
+        }
+    }
+
+    private static class KeySet<K extends Comparable<K>, V> extends AbstractSet<K> implements NavigableSet<K> {
+        private final AVLMap<K, V> map;
+
+        KeySet(AVLMap<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new EntryIterator<K, V, K>(this.map, this.map.first()) {
+                @Override
+                public K next() {
+                    return this.nextNode().value.key;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return this.descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return this.map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!this.map.containsKey(o)) {
+                return false;
+            }
+            this.map.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            this.map.clear();
+        }
+
+        @Override
+        public K lower(K k) {
+            return this.map.lowerKey(k);
+        }
+
+        @Override
+        public K floor(K k) {
+            return this.map.floorKey(k);
+        }
+
+        @Override
+        public K ceiling(K k) {
+            return this.map.ceilingKey(k);
+        }
+
+        @Override
+        public K higher(K k) {
+            return this.map.higherKey(k);
+        }
+
+        @Override
+        public K pollFirst() {
+            Entry<K, V> entry = this.map.pollFirstEntry();
+            return entry == null ? null : entry.getKey();
+        }
+
+        @Override
+        public K pollLast() {
+            Entry<K, V> entry = this.map.pollLastEntry();
+            return entry == null ? null : entry.getKey();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return this.map.descendingKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+            return this.map.subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return this.map.headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return this.map.tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement) {
+            return this.subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement) {
+            return this.headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement) {
+            return this.tailSet(fromElement, true);
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return this.map.comparator();
+        }
+
+        @Override
+        public K first() {
+            return this.map.firstKey();
+        }
+
+        @Override
+        public K last() {
+            return this.map.lastKey();
+        }
+    }
+
+    private static final class MapEntry<K extends Comparable<K>, V> implements Entry<K, V>, Comparable<MapEntry<K, V>> {
+        private final K key;
+        private V value;
+
+        private MapEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public int compareTo(MapEntry<K, V> other) {
+            return this.key.compareTo(other.key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return this.key.equals(entry.getKey()) && Objects.equals(this.value, entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key.hashCode() ^ Objects.hashCode(this.value);
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+// The node structure shared by BPlusTree and StringBPlusTree: the TwoThreeTree
+// split/promote scheme generalised to order children per node, values only in the
+// leaves, and the leaves chained so that range scans run over contiguous arrays. How a
+// node stores and compares its keys is left to NodeKeys, so Q is whatever form searches
+// compare in: the key itself for BPlusTree, its UTF-8 bytes for StringBPlusTree.
+abstract class AbstractBPlusTree<Q, V> {
+
+    private final int order;
+    private final int minKeys;
+    private final IntFunction<NodeKeys<Q>> newKeys;
+    private Node root;
+    private Leaf first;
+    private int size;
+    private int height;
+    // Set by store when it overwrites an existing value.
+    private V displaced;
+
+    protected AbstractBPlusTree(int order, IntFunction<NodeKeys<Q>> newKeys) {
+        if (order < 3) {
+            throw new IllegalArgumentException();
+        }
+
+        this.order = order;
+        this.minKeys = (order - 1) / 2;
+        this.newKeys = newKeys;
+        this.clear();
+    }
+
+    public int getOrder() {
+        return this.order;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int height() {
+        return this.height;
+    }
+
+    public void clear() {
+        this.first = new Leaf();
+        this.root = this.first;
+        this.size = 0;
+        this.height = 1;
+    }
+
+    // The key promoted when a leaf splits between lower and upper. Any key above lower and
+    // not above upper keeps searches right; the default is upper itself.
+    protected Q separator(Q lower, Q upper) {
+        return upper;
+    }
+
+    protected boolean has(Q key) {
+        return this.findLeaf(key).indexOf(key) >= 0;
+    }
+
+    protected V find(Q key) {
+        Leaf leaf = this.findLeaf(key);
+        int index = leaf.indexOf(key);
+        return index >= 0 ? leaf.value(index) : null;
+    }
+
+    // Returns the previous value, or null when the key is new.
+    protected V store(Q key, V value) {
+        this.displaced = null;
+        Promotion promotion = this.insert(this.root, key, value);
+        if (promotion == null) {
+            return this.displaced;
+        }
+
+        Inner root = new Inner();
+        root.keys.insert(0, promotion.key);
+        root.children[0] = this.root;
+        root.children[1] = promotion.right;
+        this.root = root;
+        this.height++;
+        return null;
+    }
+
+    // Returns the removed value, or null when the key was absent.
+    protected V erase(Q key) {
+        V removed = this.delete(this.root, key);
+        if (!this.root.isLeaf() && this.root.keys.count == 0) {
+            this.root = ((Inner) this.root).child(0);
+            this.height--;
+        }
+        return removed;
+    }
+
+    // Visits lo <= key <= hi in order by walking the leaf chain; the caller rejects lo > hi.
+    protected void scan(Q lo, Q hi, BiConsumer<? super Q, ? super V> consumer) {
+        Leaf leaf = this.findLeaf(lo);
+        int index = leaf.keys.lowerBound(lo);
+        while (leaf != null) {
+            for (; index < leaf.keys.count; index++) {
+                if (leaf.keys.compare(hi, index) < 0) {
+                    return;
+                }
+                consumer.accept(leaf.keys.key(index), leaf.value(index));
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    protected void each(BiConsumer<? super Q, ? super V> consumer) {
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.keys.count; i++) {
+                consumer.accept(leaf.keys.key(i), leaf.value(i));
+            }
+        }
+    }
+
+    // Packs strictly increasing entries into leaves filled to fillFactor of their capacity
+    // and builds every inner level from the one below, so loading is linear and allocates
+    // nothing but the nodes. A lower fill factor leaves room for later inserts.
+    protected void load(Iterator<? extends Map.Entry<Q, V>> entries, double fillFactor) {
+        if (!(fillFactor > 0 && fillFactor <= 1)) {
+            throw new IllegalArgumentException();
+        }
+
+        int perNode = Math.max(this.minKeys, Math.min(this.order - 1, (int) Math.ceil(fillFactor * (this.order - 1))));
+        List<Node> level = new ArrayList<>();
+        Leaf leaf = this.first;
+        while (entries.hasNext()) {
+            Map.Entry<Q, V> entry = entries.next();
+            Q key = entry.getKey();
+            int count = leaf.keys.count;
+            if (count > 0 && leaf.keys.compare(key, count - 1) <= 0) {
+                throw new IllegalArgumentException();
+            }
+            if (count == perNode) {
+                level.add(leaf);
+                leaf.next = new Leaf();
+                leaf = leaf.next;
+            }
+            leaf.insertAt(leaf.keys.count, key, entry.getValue());
+            this.size++;
+        }
+        level.add(leaf);
+        this.fixLastLeaf(level);
+
+        List<Q> lows = new ArrayList<>(level.size());
+        for (Node node : level) {
+            lows.add(node.keys.key(0));
+        }
+
+        while (level.size() > 1) {
+            int children = level.size();
+            int groups = children <= this.order ? 1 : clamp(
+                    Math.round(children / (float) (perNode + 1)),
+                    (children + this.order - 1) / this.order,
+                    children / (this.minKeys + 1));
+
+            List<Node> parents = new ArrayList<>(groups);
+            List<Q> parentLows = new ArrayList<>(groups);
+            int start = 0;
+            for (int group = 0; group < groups; group++) {
+                int count = children / groups + (group < children % groups ? 1 : 0);
+                Inner inner = new Inner();
+                inner.children[0] = level.get(start);
+                for (int i = 1; i < count; i++) {
+                    inner.keys.insert(i - 1, lows.get(start + i));
+                    inner.children[i] = level.get(start + i);
+                }
+                parents.add(inner);
+                parentLows.add(lows.get(start));
+                start += count;
+            }
+
+            level = parents;
+            lows = parentLows;
+            this.height++;
+        }
+
+        this.root = level.get(0);
+    }
+
+    // The final leaf may be short; it either merges into its predecessor or evens out with it.
+    private void fixLastLeaf(List<Node> level) {
+        int size = level.size();
+        Leaf leaf = (Leaf) level.get(size - 1);
+        if (size < 2 || leaf.keys.count >= this.minKeys) {
+            return;
+        }
+
+        Leaf previous = (Leaf) level.get(size - 2);
+        int total = previous.keys.count + leaf.keys.count;
+        if (total <= this.order - 1) {
+            System.arraycopy(leaf.values, 0, previous.values, previous.keys.count, leaf.keys.count);
+            leaf.keys.moveTail(0, previous.keys);
+            previous.next = null;
+            level.remove(size - 1);
+            return;
+        }
+
+        while (leaf.keys.count < total / 2) {
+            int last = previous.keys.count - 1;
+            leaf.insertAt(0, previous.keys.key(last), previous.value(last));
+            previous.removeAt(last);
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private Leaf findLeaf(Q key) {
+        Node node = this.root;
+        while (!node.isLeaf()) {
+            Inner inner = (Inner) node;
+            node = inner.child(inner.childIndex(key));
+        }
+        return (Leaf) node;
+    }
+
+    // Like TwoThreeTree.insert, returns the separator and new right sibling that the
+    // caller has to absorb when node split, or null when it did not.
+    private Promotion insert(Node node, Q key, V value) {
+        if (node.isLeaf()) {
+            return this.insertIntoLeaf((Leaf) node, key, value);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(key);
+        Promotion promotion = this.insert(inner.child(childIndex), key, value);
+        if (promotion == null) {
+            return null;
+        }
+
+        inner.insertAt(childIndex, promotion.key, promotion.right);
+        return inner.keys.count == this.order ? this.split(inner) : null;
+    }
+
+    private Promotion insertIntoLeaf(Leaf leaf, Q key, V value) {
+        int index = leaf.keys.lowerBound(key);
+        if (index < leaf.keys.count && leaf.keys.compare(key, index) == 0) {
+            this.displaced = leaf.value(index);
+            leaf.values[index] = value;
+            return null;
+        }
+
+        leaf.insertAt(index, key, value);
+        this.size++;
+        return leaf.keys.count == this.order ? this.split(leaf) : null;
+    }
+
+    private Promotion split(Leaf leaf) {
+        int count = leaf.keys.count;
+        int keep = count / 2;
+        Leaf right = new Leaf();
+        Q separator = this.separator(leaf.keys.key(keep - 1), leaf.keys.key(keep));
+        leaf.keys.moveTail(keep, right.keys);
+        System.arraycopy(leaf.values, keep, right.values, 0, count - keep);
+        Arrays.fill(leaf.values, keep, count, null);
+
+        right.next = leaf.next;
+        leaf.next = right;
+        return new Promotion(separator, right);
+    }
+
+    private Promotion split(Inner inner) {
+        int count = inner.keys.count;
+        int keep = count / 2;
+        Inner right = new Inner();
+        Q promoted = inner.keys.key(keep);
+        inner.keys.moveTail(keep + 1, right.keys);
+        inner.keys.remove(keep);
+        System.arraycopy(inner.children, keep + 1, right.children, 0, count - keep);
+        Arrays.fill(inner.children, keep + 1, count + 1, null);
+        return new Promotion(promoted, right);
+    }
+
+    private V delete(Node node, Q key) {
+        if (node.isLeaf()) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+
+            V removed = leaf.value(index);
+            leaf.removeAt(index);
+            this.size--;
+            return removed;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(key);
+        Node child = inner.child(childIndex);
+        V removed = this.delete(child, key);
+        if (child.keys.count < this.minKeys) {
+            this.rebalance(inner, childIndex);
+        }
+        return removed;
+    }
+
+    // Borrows from a sibling that can spare a key, otherwise merges with one.
+    private void rebalance(Inner parent, int index) {
+        Node left = index > 0 ? parent.child(index - 1) : null;
+        Node right = index < parent.keys.count ? parent.child(index + 1) : null;
+
+        if (left != null && left.keys.count > this.minKeys) {
+            this.borrowFromLeft(parent, index);
+        } else if (right != null && right.keys.count > this.minKeys) {
+            this.borrowFromRight(parent, index);
+        } else if (left != null) {
+            this.merge(parent, index - 1);
+        } else {
+            this.merge(parent, index);
+        }
+    }
+
+    private void borrowFromLeft(Inner parent, int index) {
+        Node node = parent.child(index);
+        Node left = parent.child(index - 1);
+
+        if (node.isLeaf()) {
+            Leaf leaf = (Leaf) node;
+            Leaf sibling = (Leaf) left;
+            int last = sibling.keys.count - 1;
+            leaf.insertAt(0, sibling.keys.key(last), sibling.value(last));
+            sibling.removeAt(last);
+            parent.keys.replace(index - 1, leaf.keys.key(0));
+        } else {
+            Inner inner = (Inner) node;
+            Inner sibling = (Inner) left;
+            int last = sibling.keys.count - 1;
+            System.arraycopy(inner.children, 0, inner.children, 1, inner.keys.count + 1);
+            inner.keys.insert(0, parent.keys.key(index - 1));
+            inner.children[0] = sibling.children[last + 1];
+
+            parent.keys.replace(index - 1, sibling.keys.key(last));
+            sibling.keys.remove(last);
+            sibling.children[last + 1] = null;
+        }
+    }
+
+    private void borrowFromRight(Inner parent, int index) {
+        Node node = parent.child(index);
+        Node right = parent.child(index + 1);
+
+        if (node.isLeaf()) {
+            Leaf leaf = (Leaf) node;
+            Leaf sibling = (Leaf) right;
+            leaf.insertAt(leaf.keys.count, sibling.keys.key(0), sibling.value(0));
+            sibling.removeAt(0);
+            parent.keys.replace(index, sibling.keys.key(0));
+        } else {
+            Inner inner = (Inner) node;
+            Inner sibling = (Inner) right;
+            int count = sibling.keys.count;
+            inner.keys.insert(inner.keys.count, parent.keys.key(index));
+            inner.children[inner.keys.count] = sibling.children[0];
+
+            parent.keys.replace(index, sibling.keys.key(0));
+            sibling.keys.remove(0);
+            System.arraycopy(sibling.children, 1, sibling.children, 0, count);
+            sibling.children[count] = null;
+        }
+    }
+
+    // Folds children[index + 1] into children[index] and drops their separator.
+    private void merge(Inner parent, int index) {
+        Node left = parent.child(index);
+        Node right = parent.child(index + 1);
+
+        if (left.isLeaf()) {
+            Leaf leaf = (Leaf) left;
+            Leaf sibling = (Leaf) right;
+            System.arraycopy(sibling.values, 0, leaf.values, leaf.keys.count, sibling.keys.count);
+            sibling.keys.moveTail(0, leaf.keys);
+            leaf.next = sibling.next;
+        } else {
+            Inner inner = (Inner) left;
+            Inner sibling = (Inner) right;
+            int count = inner.keys.count;
+            inner.keys.insert(count, parent.keys.key(index));
+            System.arraycopy(sibling.children, 0, inner.children, count + 1, sibling.keys.count + 1);
+            sibling.keys.moveTail(0, inner.keys);
+        }
+
+        parent.removeAt(index);
+    }
+
+    // The sorted keys of one node. Implementations hold one slot more than a node may
+    // keep, so an insert can overflow in place before the node is split.
+    abstract static class NodeKeys<Q> {
+        int count;
+
+        // The first index whose key is not less than key.
+        abstract int lowerBound(Q key);
+
+        // Compares key with the key at index.
+        abstract int compare(Q key, int index);
+
+        abstract Q key(int index);
+
+        abstract void insert(int index, Q key);
+
+        abstract void remove(int index);
+
+        abstract void replace(int index, Q key);
+
+        // Appends the keys from index on to target, which has the same type, and drops
+        // them here.
+        abstract void moveTail(int from, NodeKeys<Q> target);
+    }
+
+    private final class Promotion {
+        private final Q key;
+        private final Node right;
+
+        Promotion(Q key, Node right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    private abstract class Node {
+        final NodeKeys<Q> keys = newKeys.apply(order);
+
+        abstract boolean isLeaf();
+    }
+
+    private final class Leaf extends Node {
+        final Object[] values = new Object[order];
+        Leaf next;
+
+        @Override
+        boolean isLeaf() {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int index) {
+            return (V) this.values[index];
+        }
+
+        int indexOf(Q key) {
+            int index = this.keys.lowerBound(key);
+            return index < this.keys.count && this.keys.compare(key, index) == 0 ? index : -1;
+        }
+
+        void insertAt(int index, Q key, V value) {
+            System.arraycopy(this.values, index, this.values, index + 1, this.keys.count - index);
+            this.values[index] = value;
+            this.keys.insert(index, key);
+        }
+
+        void removeAt(int index) {
+            int count = this.keys.count;
+            System.arraycopy(this.values, index + 1, this.values, index, count - index - 1);
+            this.values[count - 1] = null;
+            this.keys.remove(index);
+        }
+    }
+
+    private final class Inner extends Node {
+        final Object[] children = new Object[order + 1];
+
+        @Override
+        boolean isLeaf() {
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node child(int index) {
+            return (Node) this.children[index];
+        }
+
+        // Keys equal to a separator live in the subtree to its right.
+        int childIndex(Q key) {
+            int index = this.keys.lowerBound(key);
+            return index < this.keys.count && this.keys.compare(key, index) == 0 ? index + 1 : index;
+        }
+
+        // Places key at index with right as the child that follows it.
+        void insertAt(int index, Q key, Node right) {
+            System.arraycopy(this.children, index + 1, this.children, index + 2, this.keys.count - index);
+            this.children[index + 1] = right;
+            this.keys.insert(index, key);
+        }
+
+        // Drops the key at index together with the child to its right.
+        void removeAt(int index) {
+            int count = this.keys.count;
+            System.arraycopy(this.children, index + 2, this.children, index + 1, count - index - 1);
+            this.children[count] = null;
+            this.keys.remove(index);
+        }
+    }
+}
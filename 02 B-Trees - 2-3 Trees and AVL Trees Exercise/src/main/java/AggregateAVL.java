@@ -0,0 +1,146 @@
+import java.util.Iterator;
+
+// AVL whose nodes also cache the aggregate of their subtree, so any range of keys
+// can be folded in O(log n) with the aggregator's associative combine.
+public class AggregateAVL<T extends Comparable<T>, A> extends AVL<T> {
+
+    private final Aggregator<T, A> aggregator;
+
+    public AggregateAVL(Aggregator<T, A> aggregator) {
+        this(aggregator, false);
+    }
+
+    public AggregateAVL(Aggregator<T, A> aggregator, boolean multiset) {
+        super(multiset);
+        this.aggregator = aggregator;
+    }
+
+    public static <T extends Comparable<T>, A> AggregateAVL<T, A> fromSorted(Aggregator<T, A> aggregator, Iterator<T> items) {
+        AggregateAVL<T, A> tree = new AggregateAVL<>(aggregator);
+        tree.loadSorted(items);
+        return tree;
+    }
+
+    public static <T extends Comparable<T>, A> AggregateAVL<T, A> join(
+            AggregateAVL<T, A> left, T pivot, AggregateAVL<T, A> right) {
+        AggregateAVL<T, A> tree = left.newTree();
+        joinInto(tree, left, pivot, right);
+        return tree;
+    }
+
+    @Override
+    public AggregateAVL<T, A> split(T item) {
+        AggregateAVL<T, A> greater = this.newTree();
+        this.splitInto(item, greater);
+        return greater;
+    }
+
+    public A aggregate() {
+        return this.aggregateOf(this.getRoot());
+    }
+
+    // Folds the values in [lo, hi] in key order.
+    public A aggregate(T lo, T hi) {
+        Node<T> node = this.getRoot();
+        while (node != null) {
+            if (hi.compareTo(node.value) < 0) {
+                node = node.left;
+            } else if (lo.compareTo(node.value) > 0) {
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+
+        if (node == null || lo.compareTo(hi) > 0) {
+            return this.aggregator.identity();
+        }
+
+        A result = this.combine(this.aggregateFrom(node.left, lo), this.lift(node));
+        return this.combine(result, this.aggregateTo(node.right, hi));
+    }
+
+    @Override
+    protected Node<T> newNode(T value) {
+        return new AggregateNode<>(value);
+    }
+
+    @Override
+    protected AggregateAVL<T, A> newTree() {
+        return new AggregateAVL<>(this.aggregator, this.isMultiset());
+    }
+
+    @Override
+    protected void augment(Node<T> node) {
+        A aggregate = this.combine(this.aggregateOf(node.left), this.lift(node));
+        this.cast(node).aggregate = this.combine(aggregate, this.aggregateOf(node.right));
+    }
+
+    // Folds all occurrences of the node's value, squaring so repeats cost O(log count).
+    protected A lift(Node<T> node) {
+        A power = this.aggregator.lift(node.value);
+        if (node.count == 1) {
+            return power;
+        }
+
+        A result = this.aggregator.identity();
+        for (int count = node.count; count > 0; count >>= 1) {
+            if ((count & 1) != 0) {
+                result = this.combine(result, power);
+            }
+            if (count > 1) {
+                power = this.combine(power, power);
+            }
+        }
+        return result;
+    }
+
+    protected A combine(A left, A right) {
+        return this.aggregator.combine(left, right);
+    }
+
+    protected A aggregateOf(Node<T> node) {
+        return node == null ? this.aggregator.identity() : this.cast(node).aggregate;
+    }
+
+    // Values >= lo in the subtree, accumulated right to left.
+    private A aggregateFrom(Node<T> node, T lo) {
+        A result = this.aggregator.identity();
+        while (node != null) {
+            if (lo.compareTo(node.value) <= 0) {
+                result = this.combine(this.combine(this.lift(node), this.aggregateOf(node.right)), result);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    // Values <= hi in the subtree, accumulated left to right.
+    private A aggregateTo(Node<T> node, T hi) {
+        A result = this.aggregator.identity();
+        while (node != null) {
+            if (hi.compareTo(node.value) >= 0) {
+                result = this.combine(result, this.combine(this.aggregateOf(node.left), this.lift(node)));
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AggregateNode<T, A> cast(Node<T> node) {
+        return (AggregateNode<T, A>) node;
+    }
+
+    private static class AggregateNode<T extends Comparable<T>, A> extends Node<T> {
+        private A aggregate;
+
+        private AggregateNode(T value) {
+            super(value);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.Comparator;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// A monoid over values of type T: combine must be associative and identity its neutral element.
+public interface Aggregator<T, A> {
+
+    A identity();
+
+    A lift(T value);
+
+    A combine(A left, A right);
+
+    static <T, A> Aggregator<T, A> of(A identity, Function<T, A> lift, BinaryOperator<A> combine) {
+        return new Aggregator<>() {
+            @Override
+            public A identity() {
+                return identity;
+            }
+
+            @Override
+            public A lift(T value) {
+                return lift.apply(value);
+            }
+
+            @Override
+            public A combine(A left, A right) {
+                return combine.apply(left, right);
+            }
+        };
+    }
+
+    static <T> Aggregator<T, Long> sum(ToLongFunction<T> mapper) {
+        return of(0L, mapper::applyAsLong, Long::sum);
+    }
+
+    static <T> Aggregator<T, Long> count() {
+        return of(0L, value -> 1L, Long::sum);
+    }
+
+    // min and max use null as the identity, so an empty range aggregates to null.
+    static <T, A extends Comparable<A>> Aggregator<T, A> min(Function<T, A> mapper) {
+        return of(null, mapper, (left, right) -> pick(left, right, Comparator.<A>naturalOrder()));
+    }
+
+    static <T, A extends Comparable<A>> Aggregator<T, A> max(Function<T, A> mapper) {
+        return of(null, mapper, (left, right) -> pick(left, right, Comparator.<A>reverseOrder()));
+    }
+
+    private static <A> A pick(A left, A right, Comparator<A> order) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return order.compare(left, right) <= 0 ? left : right;
+    }
+}
@@ -0,0 +1,352 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+// Lehman and Yao's B-link tree on the BPlusTree layout. Every node carries a high key and
+// a link to its right sibling, so a search that lands on a node which split after it read
+// the parent just follows the link. Node contents are immutable snapshots published
+// through a volatile field: readers take no latches at all, and a writer latches only the
+// node it changes plus, while a split is being posted, that node's parent.
+//
+// Deletes only remove entries; like the original algorithm the tree never merges nodes.
+public class BLinkTree<K extends Comparable<K>, V> {
+
+    private final int order;
+    private final Object rootLock = new Object();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Node root;
+
+    public BLinkTree() {
+        this(BPlusTree.DEFAULT_ORDER);
+    }
+
+    public BLinkTree(int order) {
+        if (order < 3) {
+            throw new IllegalArgumentException();
+        }
+
+        this.order = order;
+        this.root = new Node(0, new Content(new Object[0], new Object[0], null, null));
+    }
+
+    public int size() {
+        return this.size.get();
+    }
+
+    public boolean containsKey(K key) {
+        return this.get(key) != null;
+    }
+
+    public V get(K key) {
+        Content content = this.findLeaf(key, null).content;
+        while (!content.covers(key)) {
+            content = content.right.content;
+        }
+
+        int index = content.indexOf(key);
+        return index >= 0 ? content.value(index) : null;
+    }
+
+    // Returns the previous value, or null when the key is new.
+    public V put(K key, V value) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = this.lockCovering(this.findLeaf(key, path), key);
+        Content content = node.content;
+        int index = content.lowerBound(key);
+        if (index < content.count() && content.key(index).compareTo(key) == 0) {
+            V previous = content.value(index);
+            node.content = content.replaceValue(index, value);
+            node.latch.unlock();
+            return previous;
+        }
+
+        this.size.incrementAndGet();
+        Object slot = value;
+        while (true) {
+            Content updated = content.insert(key, slot, node.isLeaf());
+            if (updated.count() < this.order) {
+                node.content = updated;
+                node.latch.unlock();
+                return null;
+            }
+
+            // The new sibling is complete before the link to it is published, so readers
+            // see either the old node or both halves.
+            Split split = updated.split(node.level);
+            node.content = split.left;
+
+            Node parent = path.pollFirst();
+            if (parent == null) {
+                if (this.growRoot(node, split)) {
+                    node.latch.unlock();
+                    return null;
+                }
+                parent = this.descendTo(node.level + 1, split.key);
+            }
+
+            parent = this.lockCovering(parent, split.key);
+            node.latch.unlock();
+            node = parent;
+            content = node.content;
+            key = split.key;
+            slot = split.right;
+        }
+    }
+
+    // Returns the removed value, or null when the key was absent.
+    public V remove(K key) {
+        Node node = this.lockCovering(this.findLeaf(key, null), key);
+        Content content = node.content;
+        int index = content.indexOf(key);
+        if (index < 0) {
+            node.latch.unlock();
+            return null;
+        }
+
+        V removed = content.value(index);
+        node.content = content.remove(index);
+        node.latch.unlock();
+        this.size.decrementAndGet();
+        return removed;
+    }
+
+    // Visits lo <= key <= hi in order. Entries inserted or removed concurrently may or may
+    // not be seen, but every leaf is read as one consistent snapshot.
+    public void rangeScan(K lo, K hi, BiConsumer<? super K, ? super V> consumer) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+
+        Content content = this.findLeaf(lo, null).content;
+        int index = content.lowerBound(lo);
+        while (true) {
+            for (; index < content.count(); index++) {
+                K key = content.key(index);
+                if (key.compareTo(hi) > 0) {
+                    return;
+                }
+                consumer.accept(key, content.value(index));
+            }
+
+            if (content.right == null) {
+                return;
+            }
+            K floor = content.highKey;
+            content = content.right.content;
+            index = content.lowerBound(floor);
+        }
+    }
+
+    // Descends without latches, moving right past nodes that split under the search, and
+    // records the inner node taken at each level so a split can be posted upwards.
+    private Node findLeaf(K key, Deque<Node> path) {
+        Node node = this.root;
+        while (true) {
+            Content content = node.content;
+            if (!content.covers(key)) {
+                node = content.right;
+            } else if (node.isLeaf()) {
+                return node;
+            } else {
+                if (path != null) {
+                    path.push(node);
+                }
+                node = content.child(content.childIndex(key));
+            }
+        }
+    }
+
+    // Puts a new root above node when node is the root. When it is not, the level above
+    // already exists or is about to: node may be the right half of a root split whose
+    // writer has not installed the new root yet, so wait for that to happen.
+    private boolean growRoot(Node node, Split split) {
+        while (true) {
+            synchronized (this.rootLock) {
+                if (this.root == node) {
+                    Object[] keys = {split.key};
+                    Object[] children = {node, split.right};
+                    this.root = new Node(node.level + 1, new Content(keys, children, null, null));
+                    return true;
+                }
+                if (this.root.level > node.level) {
+                    return false;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Finds a node on the given level when the recorded path ended below a root that grew.
+    private Node descendTo(int level, K key) {
+        Node node = this.root;
+        while (node.level > level) {
+            Content content = node.content;
+            node = content.covers(key) ? content.child(content.childIndex(key)) : content.right;
+        }
+        return node;
+    }
+
+    // Latches node, then moves right hand over hand until the latched node covers key.
+    private Node lockCovering(Node node, K key) {
+        node.latch.lock();
+        while (!node.content.covers(key)) {
+            Node right = node.content.right;
+            right.latch.lock();
+            node.latch.unlock();
+            node = right;
+        }
+        return node;
+    }
+
+    private final class Node {
+        final int level;
+        final ReentrantLock latch = new ReentrantLock();
+        volatile Content content;
+
+        Node(int level, Content content) {
+            this.level = level;
+            this.content = content;
+        }
+
+        boolean isLeaf() {
+            return this.level == 0;
+        }
+    }
+
+    private final class Split {
+        final Content left;
+        final Node right;
+        final K key;
+
+        Split(Content left, Node right, K key) {
+            this.left = left;
+            this.right = right;
+            this.key = key;
+        }
+    }
+
+    // An immutable node image. A leaf has one value slot per key, an inner node one child
+    // slot more than keys. The node holds keys below highKey, and null means no bound.
+    private final class Content {
+        final Object[] keys;
+        final Object[] slots;
+        final K highKey;
+        final Node right;
+
+        Content(Object[] keys, Object[] slots, K highKey, Node right) {
+            this.keys = keys;
+            this.slots = slots;
+            this.highKey = highKey;
+            this.right = right;
+        }
+
+        int count() {
+            return this.keys.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        K key(int index) {
+            return (K) this.keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int index) {
+            return (V) this.slots[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        Node child(int index) {
+            return (Node) this.slots[index];
+        }
+
+        boolean covers(K key) {
+            return this.highKey == null || key.compareTo(this.highKey) < 0;
+        }
+
+        int lowerBound(K key) {
+            int lo = 0;
+            int hi = this.keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (this.key(mid).compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        int indexOf(K key) {
+            int index = this.lowerBound(key);
+            return index < this.keys.length && this.key(index).compareTo(key) == 0 ? index : -1;
+        }
+
+        // Keys equal to a separator live in the subtree to its right.
+        int childIndex(K key) {
+            int index = this.indexOf(key);
+            return index >= 0 ? index + 1 : this.lowerBound(key);
+        }
+
+        Content replaceValue(int index, V value) {
+            Object[] slots = this.slots.clone();
+            slots[index] = value;
+            return new Content(this.keys, slots, this.highKey, this.right);
+        }
+
+        // In a leaf slot is the value for key; in an inner node it is the child right of key.
+        Content insert(K key, Object slot, boolean leaf) {
+            int index = this.lowerBound(key);
+            int slotIndex = leaf ? index : index + 1;
+            return new Content(inserted(this.keys, index, key), inserted(this.slots, slotIndex, slot),
+                    this.highKey, this.right);
+        }
+
+        Content remove(int index) {
+            return new Content(removed(this.keys, index), removed(this.slots, index), this.highKey, this.right);
+        }
+
+        // The left half keeps this node's identity; it takes the separator as its high key
+        // and links to the new right half, which inherits the old high key and link.
+        Split split(int level) {
+            int count = this.keys.length;
+            int keep = count / 2;
+            if (level == 0) {
+                K separator = this.key(keep);
+                Node right = new Node(level, new Content(
+                        copy(this.keys, keep, count), copy(this.slots, keep, count), this.highKey, this.right));
+                Content left = new Content(copy(this.keys, 0, keep), copy(this.slots, 0, keep), separator, right);
+                return new Split(left, right, separator);
+            }
+
+            K separator = this.key(keep);
+            Node right = new Node(level, new Content(
+                    copy(this.keys, keep + 1, count), copy(this.slots, keep + 1, count + 1), this.highKey, this.right));
+            Content left = new Content(copy(this.keys, 0, keep), copy(this.slots, 0, keep + 1), separator, right);
+            return new Split(left, right, separator);
+        }
+    }
+
+    private static Object[] inserted(Object[] array, int index, Object item) {
+        Object[] result = new Object[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = item;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Object[] removed(Object[] array, int index) {
+        Object[] result = new Object[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static Object[] copy(Object[] array, int from, int to) {
+        Object[] result = new Object[to - from];
+        System.arraycopy(array, from, result, 0, to - from);
+        return result;
+    }
+}
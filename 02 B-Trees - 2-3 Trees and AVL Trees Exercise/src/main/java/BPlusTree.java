@@ -0,0 +1,133 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// The TwoThreeTree split/promote scheme generalised to order children per node. Keys
+// live in one array per node, values only in the leaves, and the leaves are chained so
+// that range scans run over contiguous arrays instead of descending for every key. The
+// node handling is shared with StringBPlusTree in AbstractBPlusTree; this class supplies
+// keys stored as plain references.
+public class BPlusTree<K extends Comparable<K>, V> extends AbstractBPlusTree<K, V> {
+
+    // 64 references fill four 64-byte cache lines with compressed oops, so a binary
+    // search touches few lines and a scan streams whole lines.
+    public static final int DEFAULT_ORDER = 64;
+
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    public BPlusTree(int order) {
+        super(order, ObjectKeys::new);
+    }
+
+    public static <K extends Comparable<K>, V> BPlusTree<K, V> fromSorted(
+            Iterator<? extends Map.Entry<K, V>> entries) {
+        return fromSorted(entries, DEFAULT_ORDER, 1.0);
+    }
+
+    // Packs strictly increasing entries into leaves filled to fillFactor of their capacity
+    // and builds every inner level from the one below, so loading is linear and allocates
+    // nothing but the nodes. A lower fill factor leaves room for later inserts.
+    public static <K extends Comparable<K>, V> BPlusTree<K, V> fromSorted(
+            Iterator<? extends Map.Entry<K, V>> entries, int order, double fillFactor) {
+        BPlusTree<K, V> tree = new BPlusTree<>(order);
+        tree.load(entries, fillFactor);
+        return tree;
+    }
+
+    public boolean containsKey(K key) {
+        return this.has(key);
+    }
+
+    public V get(K key) {
+        return this.find(key);
+    }
+
+    // Returns the previous value, or null when the key is new.
+    public V put(K key, V value) {
+        return this.store(key, value);
+    }
+
+    // Returns the removed value, or null when the key was absent.
+    public V remove(K key) {
+        return this.erase(key);
+    }
+
+    // Visits lo <= key <= hi in order by walking the leaf chain.
+    public void rangeScan(K lo, K hi, BiConsumer<? super K, ? super V> consumer) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+
+        this.scan(lo, hi, consumer);
+    }
+
+    public void eachInOrder(BiConsumer<? super K, ? super V> consumer) {
+        this.each(consumer);
+    }
+
+    private static final class ObjectKeys<K extends Comparable<K>> extends NodeKeys<K> {
+        private final Object[] keys;
+
+        ObjectKeys(int capacity) {
+            this.keys = new Object[capacity];
+        }
+
+        @Override
+        int lowerBound(K key) {
+            int lo = 0;
+            int hi = this.count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (this.key(mid).compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        @Override
+        int compare(K key, int index) {
+            return key.compareTo(this.key(index));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        K key(int index) {
+            return (K) this.keys[index];
+        }
+
+        @Override
+        void insert(int index, K key) {
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.count - index);
+            this.keys[index] = key;
+            this.count++;
+        }
+
+        @Override
+        void remove(int index) {
+            this.count--;
+            System.arraycopy(this.keys, index + 1, this.keys, index, this.count - index);
+            this.keys[this.count] = null;
+        }
+
+        @Override
+        void replace(int index, K key) {
+            this.keys[index] = key;
+        }
+
+        @Override
+        void moveTail(int from, NodeKeys<K> target) {
+            ObjectKeys<K> other = (ObjectKeys<K>) target;
+            int moved = this.count - from;
+            System.arraycopy(this.keys, from, other.keys, other.count, moved);
+            Arrays.fill(this.keys, from, this.count, null);
+            other.count += moved;
+            this.count = from;
+        }
+    }
+}
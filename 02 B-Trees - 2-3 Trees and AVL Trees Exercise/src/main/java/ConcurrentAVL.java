@@ -0,0 +1,712 @@
+import java.util.function.Consumer;
+
+// Relaxed-balance concurrent AVL after Bronson, Casper, Chafi and Olukotun,
+// "A Practical Concurrent Binary Search Tree". Readers never lock: they descend
+// hand-over-hand and validate each parent's version after reading the child link.
+// Writers lock only the nodes they relink. Deleting a node with two children
+// turns it into a routing node that is unlinked later, once it has at most one child.
+public class ConcurrentAVL<T extends Comparable<T>> {
+
+    private static final long UNLINKED = 1L;
+    private static final long SHRINKING = 2L;
+    private static final long SHRINK_COUNT = 4L;
+
+    private static final int SPIN_COUNT = 100;
+
+    private static final int NOTHING_REQUIRED = -1;
+    private static final int REBALANCE_REQUIRED = -2;
+    private static final int UNLINK_REQUIRED = -3;
+
+    private static final Object RETRY = new Object();
+
+    private static final class CNode<T> {
+        final T key;
+        volatile boolean present;
+        volatile int height;
+        volatile long version;
+        volatile CNode<T> parent;
+        volatile CNode<T> left;
+        volatile CNode<T> right;
+
+        CNode(T key, boolean present, int height, CNode<T> parent) {
+            this.key = key;
+            this.present = present;
+            this.height = height;
+            this.parent = parent;
+        }
+
+        CNode<T> child(boolean toLeft) {
+            return toLeft ? this.left : this.right;
+        }
+
+        void setChild(boolean toLeft, CNode<T> child) {
+            if (toLeft) {
+                this.left = child;
+            } else {
+                this.right = child;
+            }
+        }
+    }
+
+    // The tree hangs off the right link of a holder whose version never changes.
+    private final CNode<T> rootHolder = new CNode<>(null, false, 1, null);
+
+    public boolean contains(T item) {
+        while (true) {
+            Object result = this.attemptContains(item, this.rootHolder, false, 0L);
+            if (result != RETRY) {
+                return (Boolean) result;
+            }
+        }
+    }
+
+    public boolean insert(T item) {
+        while (true) {
+            Object result = this.attemptInsert(item, this.rootHolder, false, 0L);
+            if (result != RETRY) {
+                return (Boolean) result;
+            }
+        }
+    }
+
+    public boolean delete(T item) {
+        while (true) {
+            Object result = this.attemptDelete(item, this.rootHolder, false, 0L);
+            if (result != RETRY) {
+                return (Boolean) result;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.higher(null) == null;
+    }
+
+    // Weakly consistent: every element present for the whole traversal is visited once,
+    // in order, while concurrent updates may or may not be observed.
+    public void eachInOrder(Consumer<T> consumer) {
+        for (T item = this.higher(null); item != null; item = this.higher(item)) {
+            consumer.accept(item);
+        }
+    }
+
+    private Object attemptContains(T item, CNode<T> node, boolean toLeft, long nodeVersion) {
+        while (true) {
+            CNode<T> child = node.child(toLeft);
+            if (child == null) {
+                return node.version != nodeVersion ? RETRY : Boolean.FALSE;
+            }
+
+            int cmp = item.compareTo(child.key);
+            if (cmp == 0) {
+                return child.present;
+            }
+
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotShrinking(child);
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else if (child != node.child(toLeft)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                Object result = this.attemptContains(item, child, cmp < 0, childVersion);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private T higher(T item) {
+        while (true) {
+            Object result = this.attemptHigher(item, this.rootHolder, false, 0L, null);
+            if (result == RETRY) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            CNode<T> node = (CNode<T>) result;
+            if (node == null) {
+                return null;
+            }
+            if (node.present) {
+                return node.key;
+            }
+            item = node.key;
+        }
+    }
+
+    // A null item stands for minus infinity.
+    private Object attemptHigher(T item, CNode<T> node, boolean toLeft, long nodeVersion, CNode<T> best) {
+        while (true) {
+            CNode<T> child = node.child(toLeft);
+            if (child == null) {
+                return node.version != nodeVersion ? RETRY : best;
+            }
+
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotShrinking(child);
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else if (child != node.child(toLeft)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+            } else {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                boolean goLeft = item == null || item.compareTo(child.key) < 0;
+                Object result = this.attemptHigher(item, child, goLeft, childVersion, goLeft ? child : best);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private Object attemptInsert(T item, CNode<T> node, boolean toLeft, long nodeVersion) {
+        while (true) {
+            CNode<T> child = node.child(toLeft);
+            if (node.version != nodeVersion) {
+                return RETRY;
+            }
+
+            if (child == null) {
+                boolean inserted = false;
+                synchronized (node) {
+                    if (node.version != nodeVersion) {
+                        return RETRY;
+                    }
+                    if (node.child(toLeft) == null) {
+                        node.setChild(toLeft, new CNode<>(item, true, 1, node));
+                        inserted = true;
+                    }
+                }
+                if (inserted) {
+                    this.fixHeightAndRebalance(node);
+                    return Boolean.TRUE;
+                }
+                continue;
+            }
+
+            int cmp = item.compareTo(child.key);
+            if (cmp == 0) {
+                synchronized (child) {
+                    if (isUnlinked(child.version)) {
+                        return RETRY;
+                    }
+                    if (child.present) {
+                        return Boolean.FALSE;
+                    }
+                    child.present = true;
+                    return Boolean.TRUE;
+                }
+            }
+
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotShrinking(child);
+            } else if (child == node.child(toLeft)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                Object result = this.attemptInsert(item, child, cmp < 0, childVersion);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private Object attemptDelete(T item, CNode<T> node, boolean toLeft, long nodeVersion) {
+        while (true) {
+            CNode<T> child = node.child(toLeft);
+            if (node.version != nodeVersion) {
+                return RETRY;
+            }
+
+            if (child == null) {
+                return Boolean.FALSE;
+            }
+
+            int cmp = item.compareTo(child.key);
+            if (cmp == 0) {
+                return this.attemptDeleteNode(node, child);
+            }
+
+            long childVersion = child.version;
+            if (isShrinkingOrUnlinked(childVersion)) {
+                waitUntilNotShrinking(child);
+            } else if (child == node.child(toLeft)) {
+                if (node.version != nodeVersion) {
+                    return RETRY;
+                }
+                Object result = this.attemptDelete(item, child, cmp < 0, childVersion);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private Object attemptDeleteNode(CNode<T> parent, CNode<T> node) {
+        if (!node.present) {
+            return isUnlinked(node.version) ? RETRY : Boolean.FALSE;
+        }
+
+        if (node.left != null && node.right != null) {
+            synchronized (node) {
+                if (isUnlinked(node.version) || node.left == null || node.right == null) {
+                    return RETRY;
+                }
+                if (!node.present) {
+                    return Boolean.FALSE;
+                }
+                node.present = false;
+                return Boolean.TRUE;
+            }
+        }
+
+        synchronized (parent) {
+            if (isUnlinked(parent.version) || node.parent != parent) {
+                return RETRY;
+            }
+            synchronized (node) {
+                if (!node.present) {
+                    return isUnlinked(node.version) ? RETRY : Boolean.FALSE;
+                }
+                node.present = false;
+                if (!this.attemptUnlink(parent, node)) {
+                    // Gained a second child meanwhile, so it stays as a routing node.
+                    return Boolean.TRUE;
+                }
+            }
+        }
+
+        this.fixHeightAndRebalance(parent);
+        return Boolean.TRUE;
+    }
+
+    // Both parent and node must be locked.
+    private boolean attemptUnlink(CNode<T> parent, CNode<T> node) {
+        CNode<T> parentLeft = parent.left;
+        if (parentLeft != node && parent.right != node) {
+            return false;
+        }
+
+        CNode<T> left = node.left;
+        CNode<T> right = node.right;
+        if (left != null && right != null) {
+            return false;
+        }
+
+        CNode<T> splice = left != null ? left : right;
+        if (parentLeft == node) {
+            parent.left = splice;
+        } else {
+            parent.right = splice;
+        }
+        if (splice != null) {
+            splice.parent = parent;
+        }
+
+        node.version = UNLINKED;
+        return true;
+    }
+
+    private void fixHeightAndRebalance(CNode<T> node) {
+        while (node != null && node.parent != null) {
+            int condition = nodeCondition(node);
+            if (condition == NOTHING_REQUIRED || isUnlinked(node.version)) {
+                return;
+            }
+
+            if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+                synchronized (node) {
+                    node = this.fixHeight(node);
+                }
+            } else {
+                CNode<T> parent = node.parent;
+                synchronized (parent) {
+                    if (!isUnlinked(parent.version) && node.parent == parent) {
+                        synchronized (node) {
+                            node = this.rebalance(parent, node);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Returns the new height if only that needs fixing, otherwise one of the markers.
+    private static <T> int nodeCondition(CNode<T> node) {
+        CNode<T> left = node.left;
+        CNode<T> right = node.right;
+
+        if ((left == null || right == null) && !node.present) {
+            return UNLINK_REQUIRED;
+        }
+
+        int height = node.height;
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        int newHeight = 1 + Math.max(leftHeight, rightHeight);
+        int balance = leftHeight - rightHeight;
+
+        if (balance < -1 || balance > 1) {
+            return REBALANCE_REQUIRED;
+        }
+
+        return height != newHeight ? newHeight : NOTHING_REQUIRED;
+    }
+
+    // Node must be locked. Returns the next node to fix, or null when done.
+    private CNode<T> fixHeight(CNode<T> node) {
+        int condition = nodeCondition(node);
+        switch (condition) {
+            case REBALANCE_REQUIRED:
+            case UNLINK_REQUIRED:
+                return node;
+            case NOTHING_REQUIRED:
+                return null;
+            default:
+                node.height = condition;
+                return node.parent;
+        }
+    }
+
+    // Parent and node must be locked. Returns the next node to fix, or null when done.
+    private CNode<T> rebalance(CNode<T> parent, CNode<T> node) {
+        CNode<T> left = node.left;
+        CNode<T> right = node.right;
+
+        if ((left == null || right == null) && !node.present) {
+            if (this.attemptUnlink(parent, node)) {
+                return this.fixHeight(parent);
+            }
+            return node;
+        }
+
+        int height = node.height;
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        int newHeight = 1 + Math.max(leftHeight, rightHeight);
+        int balance = leftHeight - rightHeight;
+
+        if (balance > 1) {
+            return this.rebalanceToRight(parent, node, left, rightHeight);
+        } else if (balance < -1) {
+            return this.rebalanceToLeft(parent, node, right, leftHeight);
+        } else if (newHeight != height) {
+            node.height = newHeight;
+            return this.fixHeight(parent);
+        }
+        return null;
+    }
+
+    private CNode<T> rebalanceToRight(CNode<T> parent, CNode<T> node, CNode<T> left, int rightHeight) {
+        synchronized (left) {
+            int leftHeight = left.height;
+            if (leftHeight - rightHeight <= 1) {
+                return node;
+            }
+
+            CNode<T> leftRight = left.right;
+            int leftLeftHeight = height(left.left);
+            int leftRightHeight = height(leftRight);
+            if (leftLeftHeight >= leftRightHeight) {
+                return this.rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+            }
+
+            synchronized (leftRight) {
+                leftRightHeight = leftRight.height;
+                if (leftLeftHeight >= leftRightHeight) {
+                    return this.rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+                }
+
+                int leftRightLeftHeight = height(leftRight.left);
+                int balance = leftLeftHeight - leftRightLeftHeight;
+                if (balance >= -1 && balance <= 1 && !((leftLeftHeight == 0 || leftRightLeftHeight == 0) && !left.present)) {
+                    return this.rotateRightOverLeft(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightLeftHeight);
+                }
+            }
+
+            return this.rebalanceToLeft(node, left, leftRight, leftLeftHeight);
+        }
+    }
+
+    private CNode<T> rebalanceToLeft(CNode<T> parent, CNode<T> node, CNode<T> right, int leftHeight) {
+        synchronized (right) {
+            int rightHeight = right.height;
+            if (leftHeight - rightHeight >= -1) {
+                return node;
+            }
+
+            CNode<T> rightLeft = right.left;
+            int rightLeftHeight = height(rightLeft);
+            int rightRightHeight = height(right.right);
+            if (rightRightHeight >= rightLeftHeight) {
+                return this.rotateLeft(parent, node, leftHeight, right, rightLeft, rightLeftHeight, rightRightHeight);
+            }
+
+            synchronized (rightLeft) {
+                rightLeftHeight = rightLeft.height;
+                if (rightRightHeight >= rightLeftHeight) {
+                    return this.rotateLeft(parent, node, leftHeight, right, rightLeft, rightLeftHeight, rightRightHeight);
+                }
+
+                int rightLeftRightHeight = height(rightLeft.right);
+                int balance = rightRightHeight - rightLeftRightHeight;
+                if (balance >= -1 && balance <= 1 && !((rightRightHeight == 0 || rightLeftRightHeight == 0) && !right.present)) {
+                    return this.rotateLeftOverRight(parent, node, leftHeight, right, rightLeft, rightRightHeight, rightLeftRightHeight);
+                }
+            }
+
+            return this.rebalanceToRight(node, right, rightLeft, rightRightHeight);
+        }
+    }
+
+    private CNode<T> rotateRight(CNode<T> parent, CNode<T> node, CNode<T> left, int rightHeight,
+                                 int leftLeftHeight, CNode<T> leftRight, int leftRightHeight) {
+        long nodeVersion = node.version;
+        CNode<T> parentLeft = parent.left;
+
+        node.version = beginShrink(nodeVersion);
+
+        node.left = leftRight;
+        if (leftRight != null) {
+            leftRight.parent = node;
+        }
+        left.right = node;
+        node.parent = left;
+        if (parentLeft == node) {
+            parent.left = left;
+        } else {
+            parent.right = left;
+        }
+        left.parent = parent;
+
+        int newNodeHeight = 1 + Math.max(leftRightHeight, rightHeight);
+        node.height = newNodeHeight;
+        left.height = 1 + Math.max(leftLeftHeight, newNodeHeight);
+
+        node.version = endShrink(nodeVersion);
+
+        int nodeBalance = leftRightHeight - rightHeight;
+        if (nodeBalance < -1 || nodeBalance > 1) {
+            return node;
+        }
+        if ((leftRight == null || rightHeight == 0) && !node.present) {
+            return node;
+        }
+
+        int leftBalance = leftLeftHeight - newNodeHeight;
+        if (leftBalance < -1 || leftBalance > 1) {
+            return left;
+        }
+        if (leftLeftHeight == 0 && !left.present) {
+            return left;
+        }
+
+        return this.fixHeight(parent);
+    }
+
+    private CNode<T> rotateLeft(CNode<T> parent, CNode<T> node, int leftHeight, CNode<T> right,
+                                CNode<T> rightLeft, int rightLeftHeight, int rightRightHeight) {
+        long nodeVersion = node.version;
+        CNode<T> parentLeft = parent.left;
+
+        node.version = beginShrink(nodeVersion);
+
+        node.right = rightLeft;
+        if (rightLeft != null) {
+            rightLeft.parent = node;
+        }
+        right.left = node;
+        node.parent = right;
+        if (parentLeft == node) {
+            parent.left = right;
+        } else {
+            parent.right = right;
+        }
+        right.parent = parent;
+
+        int newNodeHeight = 1 + Math.max(leftHeight, rightLeftHeight);
+        node.height = newNodeHeight;
+        right.height = 1 + Math.max(newNodeHeight, rightRightHeight);
+
+        node.version = endShrink(nodeVersion);
+
+        int nodeBalance = rightLeftHeight - leftHeight;
+        if (nodeBalance < -1 || nodeBalance > 1) {
+            return node;
+        }
+        if ((rightLeft == null || leftHeight == 0) && !node.present) {
+            return node;
+        }
+
+        int rightBalance = rightRightHeight - newNodeHeight;
+        if (rightBalance < -1 || rightBalance > 1) {
+            return right;
+        }
+        if (rightRightHeight == 0 && !right.present) {
+            return right;
+        }
+
+        return this.fixHeight(parent);
+    }
+
+    private CNode<T> rotateRightOverLeft(CNode<T> parent, CNode<T> node, CNode<T> left, int rightHeight,
+                                         int leftLeftHeight, CNode<T> leftRight, int leftRightLeftHeight) {
+        long nodeVersion = node.version;
+        long leftVersion = left.version;
+        CNode<T> parentLeft = parent.left;
+        CNode<T> leftRightLeft = leftRight.left;
+        CNode<T> leftRightRight = leftRight.right;
+        int leftRightRightHeight = height(leftRightRight);
+
+        node.version = beginShrink(nodeVersion);
+        left.version = beginShrink(leftVersion);
+
+        node.left = leftRightRight;
+        if (leftRightRight != null) {
+            leftRightRight.parent = node;
+        }
+        left.right = leftRightLeft;
+        if (leftRightLeft != null) {
+            leftRightLeft.parent = left;
+        }
+        leftRight.left = left;
+        left.parent = leftRight;
+        leftRight.right = node;
+        node.parent = leftRight;
+        if (parentLeft == node) {
+            parent.left = leftRight;
+        } else {
+            parent.right = leftRight;
+        }
+        leftRight.parent = parent;
+
+        int newNodeHeight = 1 + Math.max(leftRightRightHeight, rightHeight);
+        node.height = newNodeHeight;
+        int newLeftHeight = 1 + Math.max(leftLeftHeight, leftRightLeftHeight);
+        left.height = newLeftHeight;
+        leftRight.height = 1 + Math.max(newLeftHeight, newNodeHeight);
+
+        node.version = endShrink(nodeVersion);
+        left.version = endShrink(leftVersion);
+
+        int nodeBalance = leftRightRightHeight - rightHeight;
+        if (nodeBalance < -1 || nodeBalance > 1) {
+            return node;
+        }
+        if ((leftRightRight == null || rightHeight == 0) && !node.present) {
+            return node;
+        }
+
+        int balance = newLeftHeight - newNodeHeight;
+        if (balance < -1 || balance > 1) {
+            return leftRight;
+        }
+
+        return this.fixHeight(parent);
+    }
+
+    private CNode<T> rotateLeftOverRight(CNode<T> parent, CNode<T> node, int leftHeight, CNode<T> right,
+                                         CNode<T> rightLeft, int rightRightHeight, int rightLeftRightHeight) {
+        long nodeVersion = node.version;
+        long rightVersion = right.version;
+        CNode<T> parentLeft = parent.left;
+        CNode<T> rightLeftLeft = rightLeft.left;
+        CNode<T> rightLeftRight = rightLeft.right;
+        int rightLeftLeftHeight = height(rightLeftLeft);
+
+        node.version = beginShrink(nodeVersion);
+        right.version = beginShrink(rightVersion);
+
+        node.right = rightLeftLeft;
+        if (rightLeftLeft != null) {
+            rightLeftLeft.parent = node;
+        }
+        right.left = rightLeftRight;
+        if (rightLeftRight != null) {
+            rightLeftRight.parent = right;
+        }
+        rightLeft.right = right;
+        right.parent = rightLeft;
+        rightLeft.left = node;
+        node.parent = rightLeft;
+        if (parentLeft == node) {
+            parent.left = rightLeft;
+        } else {
+            parent.right = rightLeft;
+        }
+        rightLeft.parent = parent;
+
+        int newNodeHeight = 1 + Math.max(leftHeight, rightLeftLeftHeight);
+        node.height = newNodeHeight;
+        int newRightHeight = 1 + Math.max(rightLeftRightHeight, rightRightHeight);
+        right.height = newRightHeight;
+        rightLeft.height = 1 + Math.max(newNodeHeight, newRightHeight);
+
+        node.version = endShrink(nodeVersion);
+        right.version = endShrink(rightVersion);
+
+        int nodeBalance = rightLeftLeftHeight - leftHeight;
+        if (nodeBalance < -1 || nodeBalance > 1) {
+            return node;
+        }
+        if ((rightLeftLeft == null || leftHeight == 0) && !node.present) {
+            return node;
+        }
+
+        int balance = newRightHeight - newNodeHeight;
+        if (balance < -1 || balance > 1) {
+            return rightLeft;
+        }
+
+        return this.fixHeight(parent);
+    }
+
+    // Shrinks only happen under the node's lock, so blocking on it waits them out.
+    private static <T> void waitUntilNotShrinking(CNode<T> node) {
+        for (int i = 0; i < SPIN_COUNT; i++) {
+            if ((node.version & SHRINKING) == 0) {
+                return;
+            }
+        }
+        synchronized (node) {
+            // nothing to do, the shrink has completed once the lock is acquired
+        }
+    }
+
+    private static <T> int height(CNode<T> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static boolean isUnlinked(long version) {
+        return version == UNLINKED;
+    }
+
+    private static boolean isShrinkingOrUnlinked(long version) {
+        return (version & (SHRINKING | UNLINKED)) != 0;
+    }
+
+    private static long beginShrink(long version) {
+        return version | SHRINKING;
+    }
+
+    private static long endShrink(long version) {
+        return version + SHRINK_COUNT;
+    }
+}
@@ -0,0 +1,45 @@
+// The key-independent half of the Eytzinger snapshots. Slot k of the subclass's key array
+// holds a node whose children are slots 2k and 2k + 1, slot 0 is unused, and the search
+// walk is left to the subclass so that its comparison stays on the primitive keys.
+abstract class EytzingerLayout {
+
+    protected final int size;
+
+    protected EytzingerLayout(int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // An in-order walk of the implicit tree hands out the sorted items: the index-th
+    // smallest goes to slot.
+    protected void fill(Placement placement) {
+        this.fill(placement, 0, 1);
+    }
+
+    // After a walk the index spells out the path taken, one bit per level with 1 for
+    // right. The last left turn is the ceiling and the last right turn the floor; either
+    // is 0 when the walk never turned that way.
+    protected static int lastLeft(int k) {
+        return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    protected static int lastRight(int k) {
+        return k >> (Integer.numberOfTrailingZeros(k) + 1);
+    }
+
+    private int fill(Placement placement, int next, int k) {
+        if (k <= this.size) {
+            next = this.fill(placement, next, k << 1);
+            placement.place(k, next++);
+            next = this.fill(placement, next, (k << 1) | 1);
+        }
+        return next;
+    }
+
+    protected interface Placement {
+        void place(int slot, int index);
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// A read-only copy of a sorted sequence stored in Eytzinger (breadth-first) order: the
+// children of slot k are 2k and 2k + 1. A search is a fixed walk of about log2(n) steps
+// in which the comparison only decides the low bit of the next index, so there is no
+// branch to mispredict, and the 16 candidates four levels below any slot share a run
+// of the array that hardware prefetchers pick up.
+//
+// For object keys that buys nothing: each step still dereferences an element and calls
+// compareTo, and EytzingerBenchmark measures contains at about 0.45M lookups/s against
+// 0.52M for AVL.contains on the same Integer keys. The speedup comes only from the
+// primitive IntEytzingerSnapshot and LongEytzingerSnapshot; this class is for floor and
+// ceiling on a frozen copy of any tree.
+public class EytzingerSnapshot<T extends Comparable<T>> extends EytzingerLayout {
+
+    private final Object[] slots;
+
+    private EytzingerSnapshot(List<T> sorted) {
+        super(sorted.size());
+        this.slots = new Object[this.size + 1];
+        this.fill((slot, index) -> this.slots[slot] = sorted.get(index));
+    }
+
+    // Any of the trees can be frozen through their in-order iteration.
+    public static <T extends Comparable<T>> EytzingerSnapshot<T> fromSorted(Iterator<T> items) {
+        List<T> sorted = new ArrayList<>();
+        while (items.hasNext()) {
+            T item = items.next();
+            if (!sorted.isEmpty() && sorted.get(sorted.size() - 1).compareTo(item) > 0) {
+                throw new IllegalArgumentException();
+            }
+            sorted.add(item);
+        }
+        return new EytzingerSnapshot<>(sorted);
+    }
+
+    public boolean contains(T item) {
+        T ceiling = this.ceiling(item);
+        return ceiling != null && ceiling.compareTo(item) == 0;
+    }
+
+    // The least element not less than item, or null.
+    public T ceiling(T item) {
+        int k = 1;
+        while (k <= this.size) {
+            k = (k << 1) | (this.item(k).compareTo(item) < 0 ? 1 : 0);
+        }
+        return this.itemOrNull(lastLeft(k));
+    }
+
+    // The greatest element not greater than item, or null.
+    public T floor(T item) {
+        int k = 1;
+        while (k <= this.size) {
+            k = (k << 1) | (this.item(k).compareTo(item) <= 0 ? 1 : 0);
+        }
+        return this.itemOrNull(lastRight(k));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int k) {
+        return (T) this.slots[k];
+    }
+
+    private T itemOrNull(int k) {
+        return k == 0 ? null : this.item(k);
+    }
+}
@@ -0,0 +1,238 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// The key-independent half of IntAVL and LongAVL. Node i lives at index i of the parallel
+// link arrays, index 0 is the null node, and freed slots are chained through left[].
+// Subclasses keep keys in their own primitive array, do the comparisons while filling
+// path[] with the ancestors they pass, and hand the result to attach or unlink.
+abstract class IndexedAVL {
+
+    protected static final int NIL = 0;
+    protected static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_HEIGHT = 64;
+
+    protected int[] left;
+    protected int[] right;
+    private byte[] heights;
+
+    protected int root = NIL;
+    private int size;
+    private int next = 1;
+    private int freeHead = NIL;
+
+    protected final int[] path = new int[MAX_HEIGHT];
+
+    protected IndexedAVL(int capacity) {
+        capacity = Math.max(capacity, 1) + 1;
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.heights = new byte[capacity];
+    }
+
+    // The length the subclass's key array must have.
+    protected int capacity() {
+        return this.left.length;
+    }
+
+    protected abstract void resizeKeys(int capacity);
+
+    protected abstract void copyKey(int from, int to);
+
+    public int size() {
+        return this.size;
+    }
+
+    public int height() {
+        return this.heights[this.root];
+    }
+
+    public void deleteMin() {
+        int depth = 0;
+        int node = this.root;
+        if (node == NIL) {
+            return;
+        }
+        while (this.left[node] != NIL) {
+            this.path[depth++] = node;
+            node = this.left[node];
+        }
+        this.unlink(node, depth);
+    }
+
+    public void deleteMax() {
+        int depth = 0;
+        int node = this.root;
+        if (node == NIL) {
+            return;
+        }
+        while (this.right[node] != NIL) {
+            this.path[depth++] = node;
+            node = this.right[node];
+        }
+        this.unlink(node, depth);
+    }
+
+    protected void eachNodeInOrder(IntConsumer visitor) {
+        int depth = 0;
+        int node = this.root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                this.path[depth++] = node;
+                node = this.left[node];
+            }
+            node = this.path[--depth];
+            visitor.accept(node);
+            node = this.right[node];
+        }
+    }
+
+    // A fresh leaf slot; the caller stores its key before attaching it.
+    protected int allocate() {
+        int node;
+        if (this.freeHead != NIL) {
+            node = this.freeHead;
+            this.freeHead = this.left[node];
+        } else {
+            if (this.next == this.left.length) {
+                this.grow();
+            }
+            node = this.next++;
+        }
+
+        this.left[node] = NIL;
+        this.right[node] = NIL;
+        this.heights[node] = 1;
+        return node;
+    }
+
+    // Hangs child below path[depth - 1], on the given side, and rebalances.
+    protected void attach(int child, int depth, boolean asLeft) {
+        if (depth == 0) {
+            this.root = child;
+        } else if (asLeft) {
+            this.left[this.path[depth - 1]] = child;
+        } else {
+            this.right[this.path[depth - 1]] = child;
+        }
+
+        this.size++;
+        this.retrace(depth);
+    }
+
+    // path[0..depth) holds the ancestors of node. A node with two children takes over
+    // its successor's key, and the successor slot is the one removed instead.
+    protected void unlink(int node, int depth) {
+        if (this.left[node] != NIL && this.right[node] != NIL) {
+            this.path[depth++] = node;
+            int successor = this.right[node];
+            while (this.left[successor] != NIL) {
+                this.path[depth++] = successor;
+                successor = this.left[successor];
+            }
+            this.copyKey(successor, node);
+            node = successor;
+        }
+
+        int child = this.left[node] != NIL ? this.left[node] : this.right[node];
+        if (depth == 0) {
+            this.root = child;
+        } else {
+            int parent = this.path[depth - 1];
+            if (this.left[parent] == node) {
+                this.left[parent] = child;
+            } else {
+                this.right[parent] = child;
+            }
+        }
+
+        this.release(node);
+        this.size--;
+        this.retrace(depth);
+    }
+
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = this.path[i];
+            int oldHeight = this.heights[node];
+
+            this.updateHeight(node);
+            int subtree = this.balance(node);
+            if (subtree != node) {
+                if (i == 0) {
+                    this.root = subtree;
+                } else if (this.left[this.path[i - 1]] == node) {
+                    this.left[this.path[i - 1]] = subtree;
+                } else {
+                    this.right[this.path[i - 1]] = subtree;
+                }
+            }
+
+            if (this.heights[subtree] == oldHeight) {
+                return;
+            }
+        }
+    }
+
+    private int balance(int node) {
+        int balance = this.balanceFactor(node);
+
+        if (balance < -1) {
+            if (this.balanceFactor(this.right[node]) > 0) {
+                this.right[node] = this.rotateRight(this.right[node]);
+            }
+            return this.rotateLeft(node);
+        } else if (balance > 1) {
+            if (this.balanceFactor(this.left[node]) < 0) {
+                this.left[node] = this.rotateLeft(this.left[node]);
+            }
+            return this.rotateRight(node);
+        }
+
+        return node;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = this.right[node];
+        this.right[node] = this.left[pivot];
+        this.left[pivot] = node;
+
+        this.updateHeight(node);
+        this.updateHeight(pivot);
+
+        return pivot;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = this.left[node];
+        this.left[node] = this.right[pivot];
+        this.right[pivot] = node;
+
+        this.updateHeight(node);
+        this.updateHeight(pivot);
+
+        return pivot;
+    }
+
+    private int balanceFactor(int node) {
+        return this.heights[this.left[node]] - this.heights[this.right[node]];
+    }
+
+    private void updateHeight(int node) {
+        this.heights[node] = (byte) (Math.max(this.heights[this.left[node]], this.heights[this.right[node]]) + 1);
+    }
+
+    private void release(int node) {
+        this.left[node] = this.freeHead;
+        this.right[node] = NIL;
+        this.heights[node] = 0;
+        this.freeHead = node;
+    }
+
+    private void grow() {
+        int capacity = this.left.length + (this.left.length >> 1) + 1;
+        this.left = Arrays.copyOf(this.left, capacity);
+        this.right = Arrays.copyOf(this.right, capacity);
+        this.heights = Arrays.copyOf(this.heights, capacity);
+        this.resizeKeys(capacity);
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// AVL over primitive keys with no per-node objects. The links, balancing and free list
+// live in IndexedAVL; this class keeps the keys in one int[] indexed by node.
+public class IntAVL extends IndexedAVL {
+
+    private int[] keys;
+
+    public IntAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntAVL(int capacity) {
+        super(capacity);
+        this.keys = new int[this.capacity()];
+    }
+
+    public boolean contains(int item) {
+        int node = this.root;
+        while (node != NIL) {
+            int key = this.keys[node];
+            if (item < key) {
+                node = this.left[node];
+            } else if (item > key) {
+                node = this.right[node];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean insert(int item) {
+        int depth = 0;
+        int node = this.root;
+        boolean asLeft = false;
+        while (node != NIL) {
+            int key = this.keys[node];
+            if (item == key) {
+                return false;
+            }
+            this.path[depth++] = node;
+            asLeft = item < key;
+            node = asLeft ? this.left[node] : this.right[node];
+        }
+
+        int child = this.allocate();
+        this.keys[child] = item;
+        this.attach(child, depth, asLeft);
+        return true;
+    }
+
+    public boolean delete(int item) {
+        int depth = 0;
+        int node = this.root;
+        while (node != NIL && this.keys[node] != item) {
+            this.path[depth++] = node;
+            node = item < this.keys[node] ? this.left[node] : this.right[node];
+        }
+
+        if (node == NIL) {
+            return false;
+        }
+
+        this.unlink(node, depth);
+        return true;
+    }
+
+    public void eachInOrder(IntConsumer consumer) {
+        this.eachNodeInOrder(node -> consumer.accept(this.keys[node]));
+    }
+
+    public IntEytzingerSnapshot freeze() {
+        int[] sorted = new int[this.size()];
+        int[] next = {0};
+        this.eachInOrder(key -> sorted[next[0]++] = key);
+        return IntEytzingerSnapshot.fromSorted(sorted);
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        this.keys = Arrays.copyOf(this.keys, capacity);
+    }
+
+    @Override
+    protected void copyKey(int from, int to) {
+        this.keys[to] = this.keys[from];
+    }
+}
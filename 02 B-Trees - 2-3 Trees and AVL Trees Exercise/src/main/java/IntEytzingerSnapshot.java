@@ -0,0 +1,33 @@
+// EytzingerSnapshot over primitive keys, as frozen from an IntAVL. The comparison feeds
+// the next index as an int, so the JIT emits a conditional set instead of a branch, and
+// the keys sit in one int[] with no objects to dereference.
+public class IntEytzingerSnapshot extends EytzingerLayout {
+
+    private final int[] slots;
+
+    private IntEytzingerSnapshot(int[] sorted) {
+        super(sorted.length);
+        this.slots = new int[this.size + 1];
+        this.fill((slot, index) -> this.slots[slot] = sorted[index]);
+    }
+
+    public static IntEytzingerSnapshot fromSorted(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new IntEytzingerSnapshot(sorted);
+    }
+
+    public boolean contains(int item) {
+        int[] slots = this.slots;
+        int size = this.size;
+        int k = 1;
+        while (k <= size) {
+            k = (k << 1) | (slots[k] < item ? 1 : 0);
+        }
+        k = lastLeft(k);
+        return k != 0 && slots[k] == item;
+    }
+}
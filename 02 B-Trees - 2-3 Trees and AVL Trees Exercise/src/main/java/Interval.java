@@ -0,0 +1,55 @@
+import java.util.Objects;
+
+public class Interval<P extends Comparable<P>> implements Comparable<Interval<P>> {
+
+    private final P start;
+    private final P end;
+
+    public Interval(P start, P end) {
+        if (start.compareTo(end) > 0) {
+            throw new IllegalArgumentException();
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public P getStart() {
+        return this.start;
+    }
+
+    public P getEnd() {
+        return this.end;
+    }
+
+    public boolean contains(P point) {
+        return this.start.compareTo(point) <= 0 && point.compareTo(this.end) <= 0;
+    }
+
+    public boolean overlaps(P from, P to) {
+        return this.start.compareTo(to) <= 0 && from.compareTo(this.end) <= 0;
+    }
+
+    @Override
+    public int compareTo(Interval<P> other) {
+        int cmp = this.start.compareTo(other.start);
+        return cmp != 0 ? cmp : this.end.compareTo(other.end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Interval<?> interval = (Interval<?>) o;
+        return this.start.equals(interval.start) && this.end.equals(interval.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.start, this.end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.start + ", " + this.end + "]";
+    }
+}
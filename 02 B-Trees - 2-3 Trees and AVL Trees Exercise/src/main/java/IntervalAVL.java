@@ -0,0 +1,59 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Closed intervals ordered by start, with every subtree caching its largest end point.
+// Queries skip subtrees whose largest end falls before the range and, thanks to the
+// ordering, everything right of a node that starts after it.
+//
+// The tree is a multiset: inserting the same interval twice keeps two occurrences, both
+// reported by queries, and removeOne drops one of them while delete drops them all.
+public class IntervalAVL<P extends Comparable<P>> extends AggregateAVL<Interval<P>, P> {
+
+    public IntervalAVL() {
+        super(Aggregator.max(Interval::getEnd), true);
+    }
+
+    public void insert(P start, P end) {
+        this.insert(new Interval<>(start, end));
+    }
+
+    public List<Interval<P>> stab(P point) {
+        return this.overlapping(point, point);
+    }
+
+    public List<Interval<P>> overlapping(P from, P to) {
+        List<Interval<P>> result = new ArrayList<>();
+        if (from.compareTo(to) <= 0) {
+            this.collect(this.getRoot(), from, to, result);
+        }
+        return result;
+    }
+
+    @Override
+    public IntervalAVL<P> split(Interval<P> item) {
+        IntervalAVL<P> greater = this.newTree();
+        this.splitInto(item, greater);
+        return greater;
+    }
+
+    @Override
+    protected IntervalAVL<P> newTree() {
+        return new IntervalAVL<>();
+    }
+
+    private void collect(Node<Interval<P>> node, P from, P to, List<Interval<P>> result) {
+        if (node == null || this.aggregateOf(node).compareTo(from) < 0) {
+            return;
+        }
+
+        this.collect(node.left, from, to, result);
+        if (node.value.getStart().compareTo(to) <= 0) {
+            if (node.value.overlaps(from, to)) {
+                for (int i = 0; i < node.count; i++) {
+                    result.add(node.value);
+                }
+            }
+            this.collect(node.right, from, to, result);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// The long-keyed twin of IntAVL, sharing its IndexedAVL skeleton.
+public class LongAVL extends IndexedAVL {
+
+    private long[] keys;
+
+    public LongAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongAVL(int capacity) {
+        super(capacity);
+        this.keys = new long[this.capacity()];
+    }
+
+    public boolean contains(long item) {
+        int node = this.root;
+        while (node != NIL) {
+            long key = this.keys[node];
+            if (item < key) {
+                node = this.left[node];
+            } else if (item > key) {
+                node = this.right[node];
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean insert(long item) {
+        int depth = 0;
+        int node = this.root;
+        boolean asLeft = false;
+        while (node != NIL) {
+            long key = this.keys[node];
+            if (item == key) {
+                return false;
+            }
+            this.path[depth++] = node;
+            asLeft = item < key;
+            node = asLeft ? this.left[node] : this.right[node];
+        }
+
+        int child = this.allocate();
+        this.keys[child] = item;
+        this.attach(child, depth, asLeft);
+        return true;
+    }
+
+    public boolean delete(long item) {
+        int depth = 0;
+        int node = this.root;
+        while (node != NIL && this.keys[node] != item) {
+            this.path[depth++] = node;
+            node = item < this.keys[node] ? this.left[node] : this.right[node];
+        }
+
+        if (node == NIL) {
+            return false;
+        }
+
+        this.unlink(node, depth);
+        return true;
+    }
+
+    public void eachInOrder(LongConsumer consumer) {
+        this.eachNodeInOrder(node -> consumer.accept(this.keys[node]));
+    }
+
+    public LongEytzingerSnapshot freeze() {
+        long[] sorted = new long[this.size()];
+        int[] next = {0};
+        this.eachInOrder(key -> sorted[next[0]++] = key);
+        return LongEytzingerSnapshot.fromSorted(sorted);
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        this.keys = Arrays.copyOf(this.keys, capacity);
+    }
+
+    @Override
+    protected void copyKey(int from, int to) {
+        this.keys[to] = this.keys[from];
+    }
+}
@@ -0,0 +1,31 @@
+// The long-keyed twin of IntEytzingerSnapshot, as frozen from a LongAVL.
+public class LongEytzingerSnapshot extends EytzingerLayout {
+
+    private final long[] slots;
+
+    private LongEytzingerSnapshot(long[] sorted) {
+        super(sorted.length);
+        this.slots = new long[this.size + 1];
+        this.fill((slot, index) -> this.slots[slot] = sorted[index]);
+    }
+
+    public static LongEytzingerSnapshot fromSorted(long[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new LongEytzingerSnapshot(sorted);
+    }
+
+    public boolean contains(long item) {
+        long[] slots = this.slots;
+        int size = this.size;
+        int k = 1;
+        while (k <= size) {
+            k = (k << 1) | (slots[k] < item ? 1 : 0);
+        }
+        k = lastLeft(k);
+        return k != 0 && slots[k] == item;
+    }
+}
@@ -0,0 +1,392 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// A B+tree whose nodes are fixed-size pages of a file, read and written in place through
+// a PageCache of mapped segments. Page 0 is the header, so the tree is usable again as
+// soon as the file is reopened. Searches compare keys where they lie in the page and
+// decode only the entries they return. Only the thread that opened the tree may use it;
+// any other gets an IllegalStateException.
+//
+// Node page: type byte, count short, next-leaf int, then the entries. A leaf holds
+// (key, value) pairs; an inner node holds child0 followed by (key, child) pairs.
+public class MappedBTree<K extends Comparable<K>, V> implements Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+    public static final int DEFAULT_CACHE_SEGMENTS = 64;
+    private static final int SEGMENT_PAGES = 256;
+
+    private static final int MAGIC = 0x42545245;
+    private static final int HEADER_PAGE = 0;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int PAGE_SIZE_OFFSET = 4;
+    private static final int KEY_WIDTH_OFFSET = 8;
+    private static final int VALUE_WIDTH_OFFSET = 12;
+    private static final int ROOT_OFFSET = 16;
+    private static final int PAGE_COUNT_OFFSET = 20;
+    private static final int HEIGHT_OFFSET = 24;
+    private static final int SIZE_OFFSET = 28;
+
+    private static final byte LEAF = 0;
+    private static final byte INNER = 1;
+    private static final int TYPE = 0;
+    private static final int COUNT = 2;
+    private static final int NEXT = 4;
+    private static final int ENTRIES = 8;
+    private static final int NO_PAGE = 0;
+
+    private final FileChannel channel;
+    private final PageCache cache;
+    private final PageCodec<K> keys;
+    private final PageCodec<V> values;
+    private final int pageSize;
+    private final int leafEntry;
+    private final int innerEntry;
+    private final int leafCapacity;
+    private final int innerCapacity;
+    private final byte[] scratch;
+
+    private int root;
+    private int pageCount;
+    private int height;
+    private long size;
+
+    public MappedBTree(Path file, PageCodec<K> keys, PageCodec<V> values) {
+        this(file, keys, values, DEFAULT_PAGE_SIZE, DEFAULT_CACHE_SEGMENTS);
+    }
+
+    // Opens the tree stored in file, or creates one when the file is empty. Reopening
+    // with a different page size or codec widths is rejected.
+    public MappedBTree(Path file, PageCodec<K> keys, PageCodec<V> values, int pageSize, int cacheSegments) {
+        this.keys = keys;
+        this.values = values;
+        this.pageSize = pageSize;
+        this.leafEntry = keys.width() + values.width();
+        this.innerEntry = keys.width() + Integer.BYTES;
+        this.leafCapacity = (pageSize - ENTRIES) / this.leafEntry;
+        this.innerCapacity = (pageSize - ENTRIES - Integer.BYTES) / this.innerEntry;
+        if (this.leafCapacity < 3 || this.innerCapacity < 3) {
+            throw new IllegalArgumentException();
+        }
+        // A node holds at most its capacity before it splits, and the count is a short.
+        if (this.leafCapacity > Short.MAX_VALUE || this.innerCapacity > Short.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+        this.scratch = new byte[pageSize];
+
+        try {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean exists = this.channel.size() > 0;
+            this.cache = new PageCache(this.channel, pageSize, SEGMENT_PAGES, cacheSegments);
+            if (exists) {
+                this.readHeader();
+            } else {
+                this.pageCount = 1;
+                this.root = this.allocate(LEAF);
+                this.height = 1;
+                this.writeHeader();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public int height() {
+        return this.height;
+    }
+
+    public V search(K key) {
+        int page = this.findLeaf(key);
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+        int index = this.lowerBound(buffer, base, key, true);
+        if (index < count(buffer, base) && this.compareLeafKey(key, buffer, base, index) == 0) {
+            return this.values.read(buffer, this.leafValue(base, index));
+        }
+        return null;
+    }
+
+    public boolean contains(K key) {
+        return this.search(key) != null;
+    }
+
+    // Inserts or replaces the value for key.
+    public void insert(K key, V value) {
+        Promotion promotion = this.insert(this.root, key, value);
+        if (promotion != null) {
+            int newRoot = this.allocate(INNER);
+            ByteBuffer buffer = this.cache.buffer(newRoot);
+            int base = this.cache.offset(newRoot);
+            buffer.putInt(base + ENTRIES, this.root);
+            this.keys.write(buffer, this.innerKey(base, 0), promotion.key);
+            buffer.putInt(this.innerKey(base, 0) + this.keys.width(), promotion.right);
+            setCount(buffer, base, 1);
+            this.root = newRoot;
+            this.height++;
+        }
+        this.writeHeader();
+    }
+
+    // Visits lo <= key <= hi in order, following the leaf chain page by page. Each leaf's
+    // entries in range are decoded before any of them reach the consumer, so the consumer
+    // may search the tree even when that evicts the segment the scan is walking.
+    public void rangeScan(K lo, K hi, BiConsumer<? super K, ? super V> consumer) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+
+        List<K> keys = new ArrayList<>(this.leafCapacity);
+        List<V> values = new ArrayList<>(this.leafCapacity);
+        int page = this.findLeaf(lo);
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+        int index = this.lowerBound(buffer, base, lo, true);
+        while (true) {
+            int next = buffer.getInt(base + NEXT);
+            for (int count = count(buffer, base); index < count; index++) {
+                if (this.compareLeafKey(hi, buffer, base, index) < 0) {
+                    next = NO_PAGE;
+                    break;
+                }
+                keys.add(this.keys.read(buffer, this.leafKey(base, index)));
+                values.add(this.values.read(buffer, this.leafValue(base, index)));
+            }
+
+            for (int i = 0; i < keys.size(); i++) {
+                consumer.accept(keys.get(i), values.get(i));
+            }
+            if (next == NO_PAGE) {
+                return;
+            }
+            keys.clear();
+            values.clear();
+            buffer = this.cache.buffer(next);
+            base = this.cache.offset(next);
+            index = 0;
+        }
+    }
+
+    public void flush() {
+        this.writeHeader();
+        this.cache.flush();
+    }
+
+    @Override
+    public void close() {
+        this.writeHeader();
+        this.cache.close();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int findLeaf(K key) {
+        int page = this.root;
+        for (int level = this.height; level > 1; level--) {
+            ByteBuffer buffer = this.cache.buffer(page);
+            int base = this.cache.offset(page);
+            page = buffer.getInt(this.innerChild(base, this.childIndex(buffer, base, key)));
+        }
+        return page;
+    }
+
+    // Like BPlusTree.insert, returns the separator and the page of the new right sibling
+    // when page split, or null when it did not.
+    private Promotion insert(int page, K key, V value) {
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+
+        if (buffer.get(base + TYPE) == LEAF) {
+            int index = this.lowerBound(buffer, base, key, true);
+            int count = count(buffer, base);
+            if (index < count && this.compareLeafKey(key, buffer, base, index) == 0) {
+                this.values.write(buffer, this.leafValue(base, index), value);
+                return null;
+            }
+
+            this.shift(buffer, this.leafKey(base, index), this.leafKey(base, count), this.leafEntry);
+            this.keys.write(buffer, this.leafKey(base, index), key);
+            this.values.write(buffer, this.leafValue(base, index), value);
+            setCount(buffer, base, ++count);
+            this.size++;
+            return count == this.leafCapacity ? this.splitLeaf(page) : null;
+        }
+
+        int childIndex = this.childIndex(buffer, base, key);
+        Promotion promotion = this.insert(buffer.getInt(this.innerChild(base, childIndex)), key, value);
+        if (promotion == null) {
+            return null;
+        }
+
+        buffer = this.cache.buffer(page);
+        int count = count(buffer, base);
+        this.shift(buffer, this.innerKey(base, childIndex), this.innerKey(base, count), this.innerEntry);
+        this.keys.write(buffer, this.innerKey(base, childIndex), promotion.key);
+        buffer.putInt(this.innerKey(base, childIndex) + this.keys.width(), promotion.right);
+        setCount(buffer, base, ++count);
+        return count == this.innerCapacity ? this.splitInner(page) : null;
+    }
+
+    private Promotion splitLeaf(int page) {
+        int right = this.allocate(LEAF);
+        ByteBuffer rightBuffer = this.cache.buffer(right);
+        int rightBase = this.cache.offset(right);
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+
+        int count = count(buffer, base);
+        int keep = count / 2;
+        int moved = count - keep;
+        buffer.get(this.leafKey(base, keep), this.scratch, 0, moved * this.leafEntry);
+        rightBuffer.put(this.leafKey(rightBase, 0), this.scratch, 0, moved * this.leafEntry);
+        setCount(rightBuffer, rightBase, moved);
+        setCount(buffer, base, keep);
+
+        rightBuffer.putInt(rightBase + NEXT, buffer.getInt(base + NEXT));
+        buffer.putInt(base + NEXT, right);
+        return new Promotion(this.keys.read(rightBuffer, this.leafKey(rightBase, 0)), right);
+    }
+
+    private Promotion splitInner(int page) {
+        int right = this.allocate(INNER);
+        ByteBuffer rightBuffer = this.cache.buffer(right);
+        int rightBase = this.cache.offset(right);
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+
+        int count = count(buffer, base);
+        int keep = count / 2;
+        K promoted = this.keys.read(buffer, this.innerKey(base, keep));
+        int moved = count - keep - 1;
+        // child(keep + 1) and the pairs after it become child0 and the pairs of the sibling.
+        int from = this.innerKey(base, keep) + this.keys.width();
+        int bytes = Integer.BYTES + moved * this.innerEntry;
+        buffer.get(from, this.scratch, 0, bytes);
+        rightBuffer.put(rightBase + ENTRIES, this.scratch, 0, bytes);
+        setCount(rightBuffer, rightBase, moved);
+        setCount(buffer, base, keep);
+        return new Promotion(promoted, right);
+    }
+
+    // Moves the entries in [from, to) one entry of the given width to the right.
+    private void shift(ByteBuffer buffer, int from, int to, int width) {
+        int length = to - from;
+        if (length > 0) {
+            buffer.get(from, this.scratch, 0, length);
+            buffer.put(from + width, this.scratch, 0, length);
+        }
+    }
+
+    private int lowerBound(ByteBuffer buffer, int base, K key, boolean leaf) {
+        int lo = 0;
+        int hi = count(buffer, base);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int offset = leaf ? this.leafKey(base, mid) : this.innerKey(base, mid);
+            if (this.keys.compare(key, buffer, offset) > 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Keys equal to a separator live in the subtree to its right.
+    private int childIndex(ByteBuffer buffer, int base, K key) {
+        int index = this.lowerBound(buffer, base, key, false);
+        if (index < count(buffer, base) && this.keys.compare(key, buffer, this.innerKey(base, index)) == 0) {
+            return index + 1;
+        }
+        return index;
+    }
+
+    private int compareLeafKey(K key, ByteBuffer buffer, int base, int index) {
+        return this.keys.compare(key, buffer, this.leafKey(base, index));
+    }
+
+    private int leafKey(int base, int index) {
+        return base + ENTRIES + index * this.leafEntry;
+    }
+
+    private int leafValue(int base, int index) {
+        return this.leafKey(base, index) + this.keys.width();
+    }
+
+    private int innerKey(int base, int index) {
+        return base + ENTRIES + Integer.BYTES + index * this.innerEntry;
+    }
+
+    private int innerChild(int base, int index) {
+        return index == 0 ? base + ENTRIES : this.innerKey(base, index - 1) + this.keys.width();
+    }
+
+    private int allocate(byte type) {
+        int page = this.pageCount++;
+        ByteBuffer buffer = this.cache.buffer(page);
+        int base = this.cache.offset(page);
+        buffer.put(base + TYPE, type);
+        setCount(buffer, base, 0);
+        buffer.putInt(base + NEXT, NO_PAGE);
+        return page;
+    }
+
+    private void readHeader() {
+        ByteBuffer buffer = this.cache.buffer(HEADER_PAGE);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC
+                || buffer.getInt(PAGE_SIZE_OFFSET) != this.pageSize
+                || buffer.getInt(KEY_WIDTH_OFFSET) != this.keys.width()
+                || buffer.getInt(VALUE_WIDTH_OFFSET) != this.values.width()) {
+            throw new IllegalArgumentException();
+        }
+
+        this.root = buffer.getInt(ROOT_OFFSET);
+        this.pageCount = buffer.getInt(PAGE_COUNT_OFFSET);
+        this.height = buffer.getInt(HEIGHT_OFFSET);
+        this.size = buffer.getLong(SIZE_OFFSET);
+    }
+
+    private void writeHeader() {
+        ByteBuffer buffer = this.cache.buffer(HEADER_PAGE);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(PAGE_SIZE_OFFSET, this.pageSize);
+        buffer.putInt(KEY_WIDTH_OFFSET, this.keys.width());
+        buffer.putInt(VALUE_WIDTH_OFFSET, this.values.width());
+        buffer.putInt(ROOT_OFFSET, this.root);
+        buffer.putInt(PAGE_COUNT_OFFSET, this.pageCount);
+        buffer.putInt(HEIGHT_OFFSET, this.height);
+        buffer.putLong(SIZE_OFFSET, this.size);
+    }
+
+    private static int count(ByteBuffer buffer, int base) {
+        return buffer.getShort(base + COUNT);
+    }
+
+    private static void setCount(ByteBuffer buffer, int base, int count) {
+        buffer.putShort(base + COUNT, (short) count);
+    }
+
+    private final class Promotion {
+        private final K key;
+        private final int right;
+
+        Promotion(K key, int right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+}
@@ -3,12 +3,17 @@ public class Node<T extends Comparable<T>> {
     public T value;
     public Node<T> left;
     public Node<T> right;
+    public Node<T> parent;
 
     public int height;
+    public int size;
+    public int count;
 
     public Node(T value) {
         this.value = value;
         this.height = 1;
+        this.size = 1;
+        this.count = 1;
     }
 
 }
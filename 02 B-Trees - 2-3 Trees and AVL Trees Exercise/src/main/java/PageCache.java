@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+// Keeps a bounded number of mapped file segments, each a run of consecutive pages, and
+// chooses victims with the clock algorithm: a hit sets the slot's reference bit and the
+// hand clears bits until it finds a slot that was not used since its last pass.
+// Mapping past the end of the file grows it, so new pages need no separate allocation.
+//
+// Evicted segments are unmapped at once rather than left to the garbage collector, which
+// would otherwise let mappings pile up past the OS limit. Unmapping does not lose writes:
+// dirty pages stay in the OS page cache and reach the file on its schedule, or at flush
+// and close. Callers may therefore hold a buffer only until their next call, except that
+// the slot returned last is never the victim, so two pages (a node and its new sibling)
+// can be used together.
+//
+// Touching an unmapped buffer crashes the JVM instead of throwing, so the cache is
+// confined to the thread that created it, which every call checks, and it is package
+// private: MappedBTree is its only user and never lets a buffer outlive the call that
+// fetched it, decoding keys and values before they reach its caller.
+class PageCache {
+
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Without it evicted mappings are released by the garbage collector instead.
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final FileChannel channel;
+    private final int pageSize;
+    private final int segmentPages;
+
+    private final long[] segments;
+    private final MappedByteBuffer[] buffers;
+    private final boolean[] referenced;
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final Thread owner = Thread.currentThread();
+    private int hand;
+    private int last = -1;
+
+    public PageCache(FileChannel channel, int pageSize, int segmentPages, int capacity) {
+        if (pageSize <= 0 || segmentPages <= 0 || capacity < 2) {
+            throw new IllegalArgumentException();
+        }
+
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.segmentPages = segmentPages;
+        this.segments = new long[capacity];
+        this.buffers = new MappedByteBuffer[capacity];
+        this.referenced = new boolean[capacity];
+    }
+
+    // The returned buffer spans the whole segment; address the page through offset(page).
+    public ByteBuffer buffer(int page) {
+        this.checkOwner();
+        long segment = page / this.segmentPages;
+        Integer slot = this.slots.get(segment);
+        if (slot == null) {
+            slot = this.load(segment);
+        }
+
+        this.referenced[slot] = true;
+        this.last = slot;
+        return this.buffers[slot];
+    }
+
+    public int offset(int page) {
+        return (page % this.segmentPages) * this.pageSize;
+    }
+
+    public void flush() {
+        this.checkOwner();
+        for (MappedByteBuffer buffer : this.buffers) {
+            if (buffer != null) {
+                buffer.force();
+            }
+        }
+    }
+
+    public void close() {
+        this.checkOwner();
+        for (int slot = 0; slot < this.buffers.length; slot++) {
+            if (this.buffers[slot] != null) {
+                this.buffers[slot].force();
+                this.unmap(this.buffers[slot]);
+                this.buffers[slot] = null;
+            }
+        }
+        this.slots.clear();
+        this.last = -1;
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != this.owner) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private int load(long segment) {
+        while (this.referenced[this.hand] || this.hand == this.last) {
+            this.referenced[this.hand] = false;
+            this.hand = (this.hand + 1) % this.buffers.length;
+        }
+
+        int slot = this.hand;
+        this.hand = (this.hand + 1) % this.buffers.length;
+        if (this.buffers[slot] != null) {
+            this.slots.remove(this.segments[slot]);
+            this.unmap(this.buffers[slot]);
+            this.buffers[slot] = null;
+        }
+
+        long bytes = (long) this.segmentPages * this.pageSize;
+        try {
+            this.buffers[slot] = this.channel.map(FileChannel.MapMode.READ_WRITE, segment * bytes, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.segments[slot] = segment;
+        this.slots.put(segment, slot);
+        return slot;
+    }
+}
@@ -0,0 +1,93 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Fixed-width encoding of keys and values inside MappedBTree pages. compare works on
+// the stored bytes, so the fixed-width codecs below search a page without decoding it.
+public interface PageCodec<T> {
+
+    PageCodec<Integer> INT = new PageCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer page, int offset, Integer value) {
+            page.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer page, int offset) {
+            return page.getInt(offset);
+        }
+
+        @Override
+        public int compare(Integer key, ByteBuffer page, int offset) {
+            return Integer.compare(key, page.getInt(offset));
+        }
+    };
+
+    PageCodec<Long> LONG = new PageCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer page, int offset, Long value) {
+            page.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer page, int offset) {
+            return page.getLong(offset);
+        }
+
+        @Override
+        public int compare(Long key, ByteBuffer page, int offset) {
+            return Long.compare(key, page.getLong(offset));
+        }
+    };
+
+    int width();
+
+    void write(ByteBuffer page, int offset, T value);
+
+    T read(ByteBuffer page, int offset);
+
+    int compare(T key, ByteBuffer page, int offset);
+
+    // UTF-8 strings of at most maxBytes, stored as a length followed by zero padding.
+    // The order is that of the decoded strings, so keys compare after decoding.
+    static PageCodec<String> utf8(int maxBytes) {
+        return new PageCodec<>() {
+            @Override
+            public int width() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer page, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException();
+                }
+                page.putShort(offset, (short) bytes.length);
+                page.put(offset + Short.BYTES, bytes);
+                page.put(offset + Short.BYTES + bytes.length, new byte[maxBytes - bytes.length]);
+            }
+
+            @Override
+            public String read(ByteBuffer page, int offset) {
+                byte[] bytes = new byte[page.getShort(offset)];
+                page.get(offset + Short.BYTES, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public int compare(String key, ByteBuffer page, int offset) {
+                return key.compareTo(this.read(page, offset));
+            }
+        };
+    }
+}
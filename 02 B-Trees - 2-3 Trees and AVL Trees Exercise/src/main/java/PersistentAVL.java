@@ -0,0 +1,179 @@
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Path-copying AVL: nodes are immutable, so an update allocates only the O(log n) nodes
+// on the search path and shares the rest. snapshot() forks the current version in O(1);
+// readers of any version never lock, and versions nobody references are garbage-collected.
+public class PersistentAVL<T extends Comparable<T>> {
+
+    private static final class PNode<T> {
+        private final T value;
+        private final PNode<T> left;
+        private final PNode<T> right;
+        private final int height;
+        private final int size;
+
+        private PNode(T value, PNode<T> left, PNode<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private final AtomicReference<PNode<T>> root;
+
+    public PersistentAVL() {
+        this(null);
+    }
+
+    private PersistentAVL(PNode<T> root) {
+        this.root = new AtomicReference<>(root);
+    }
+
+    public PersistentAVL<T> snapshot() {
+        return new PersistentAVL<>(this.root.get());
+    }
+
+    public int size() {
+        return size(this.root.get());
+    }
+
+    public int height() {
+        return height(this.root.get());
+    }
+
+    public boolean contains(T item) {
+        PNode<T> node = this.root.get();
+        while (node != null) {
+            int cmp = item.compareTo(node.value);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void insert(T item) {
+        while (true) {
+            PNode<T> current = this.root.get();
+            PNode<T> updated = this.insert(current, item);
+            if (updated == current || this.root.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    public void delete(T item) {
+        while (true) {
+            PNode<T> current = this.root.get();
+            PNode<T> updated = this.delete(current, item);
+            if (updated == current || this.root.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    public void eachInOrder(Consumer<T> consumer) {
+        this.eachInOrder(this.root.get(), consumer);
+    }
+
+    private void eachInOrder(PNode<T> node, Consumer<T> consumer) {
+        if (node == null) {
+            return;
+        }
+
+        this.eachInOrder(node.left, consumer);
+        consumer.accept(node.value);
+        this.eachInOrder(node.right, consumer);
+    }
+
+    private PNode<T> insert(PNode<T> node, T item) {
+        if (node == null) {
+            return new PNode<>(item, null, null);
+        }
+
+        int cmp = item.compareTo(node.value);
+        if (cmp < 0) {
+            PNode<T> left = this.insert(node.left, item);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        } else if (cmp > 0) {
+            PNode<T> right = this.insert(node.right, item);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+
+        return node;
+    }
+
+    private PNode<T> delete(PNode<T> node, T item) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = item.compareTo(node.value);
+        if (cmp < 0) {
+            PNode<T> left = this.delete(node.left, item);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        } else if (cmp > 0) {
+            PNode<T> right = this.delete(node.right, item);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        PNode<T> min = node.right;
+        while (min.left != null) {
+            min = min.left;
+        }
+        return balance(min.value, node.left, this.deleteMin(node.right));
+    }
+
+    private PNode<T> deleteMin(PNode<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.value, this.deleteMin(node.left), node.right);
+    }
+
+    private static <T> PNode<T> balance(T value, PNode<T> left, PNode<T> right) {
+        int balance = height(left) - height(right);
+
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new PNode<>(left.value, left.left, new PNode<>(value, left.right, right));
+            }
+            PNode<T> pivot = left.right;
+            return new PNode<>(pivot.value,
+                    new PNode<>(left.value, left.left, pivot.left),
+                    new PNode<>(value, pivot.right, right));
+        } else if (balance < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new PNode<>(right.value, new PNode<>(value, left, right.left), right.right);
+            }
+            PNode<T> pivot = right.left;
+            return new PNode<>(pivot.value,
+                    new PNode<>(value, left, pivot.left),
+                    new PNode<>(right.value, pivot.right, right.right));
+        }
+
+        return new PNode<>(value, left, right);
+    }
+
+    private static int height(PNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(PNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
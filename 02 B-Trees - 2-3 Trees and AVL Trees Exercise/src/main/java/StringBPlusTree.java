@@ -0,0 +1,260 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// BPlusTree specialised for String keys. A node keeps its keys as UTF-8 in one byte
+// buffer: the prefix shared by all of them is stored once and each key adds only its
+// suffix and an end offset, so long keys with common prefixes such as URLs cost a few
+// bytes each instead of a String and its array. Searches compare raw bytes, unsigned,
+// which orders keys by code point. That differs from String.compareTo only for
+// supplementary characters.
+//
+// Prefix truncation keeps every key addressable, so nodes are still binary searched,
+// which per-entry front coding would not allow. Separators are cut to the shortest prefix
+// that still divides the two leaves, which keeps inner nodes small as well. Splitting,
+// merging and the leaf chain are BPlusTree's, inherited from AbstractBPlusTree.
+public class StringBPlusTree<V> extends AbstractBPlusTree<byte[], V> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    public StringBPlusTree() {
+        this(BPlusTree.DEFAULT_ORDER);
+    }
+
+    public StringBPlusTree(int order) {
+        super(order, Keys::new);
+    }
+
+    public boolean containsKey(String key) {
+        return this.has(bytes(key));
+    }
+
+    public V get(String key) {
+        return this.find(bytes(key));
+    }
+
+    // Returns the previous value, or null when the key is new.
+    public V put(String key, V value) {
+        return this.store(bytes(key), value);
+    }
+
+    // Returns the removed value, or null when the key was absent.
+    public V remove(String key) {
+        return this.erase(bytes(key));
+    }
+
+    // Visits lo <= key <= hi in order by walking the leaf chain.
+    public void rangeScan(String lo, String hi, BiConsumer<? super String, ? super V> consumer) {
+        byte[] from = bytes(lo);
+        byte[] to = bytes(hi);
+        if (Arrays.compareUnsigned(from, to) > 0) {
+            return;
+        }
+
+        this.scan(from, to, (key, value) -> consumer.accept(string(key), value));
+    }
+
+    public void eachInOrder(BiConsumer<? super String, ? super V> consumer) {
+        this.each((key, value) -> consumer.accept(string(key), value));
+    }
+
+    // The shortest prefix of upper that is still greater than lower.
+    @Override
+    protected byte[] separator(byte[] lower, byte[] upper) {
+        int shared = Arrays.mismatch(lower, upper);
+        return Arrays.copyOf(upper, Math.min(upper.length, shared + 1));
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    // The sorted keys of one node: a shared prefix, then the suffixes back to back in
+    // data with ends[i] marking where suffix i stops.
+    private static final class Keys extends NodeKeys<byte[]> {
+        private byte[] prefix = EMPTY;
+        private byte[] data = EMPTY;
+        private final int[] ends;
+
+        Keys(int capacity) {
+            this.ends = new int[capacity];
+        }
+
+        @Override
+        int lowerBound(byte[] key) {
+            if (this.count == 0) {
+                return 0;
+            }
+
+            int outside = this.compareToPrefix(key);
+            if (outside != 0) {
+                return outside < 0 ? 0 : this.count;
+            }
+
+            int lo = 0;
+            int hi = this.count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (this.compareSuffix(key, mid) > 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        @Override
+        int compare(byte[] key, int index) {
+            int outside = this.compareToPrefix(key);
+            return outside != 0 ? outside : this.compareSuffix(key, index);
+        }
+
+        // Zero when key starts with the prefix; otherwise the sign of key against every key here.
+        private int compareToPrefix(byte[] key) {
+            int length = Math.min(key.length, this.prefix.length);
+            int cmp = Arrays.compareUnsigned(key, 0, length, this.prefix, 0, length);
+            if (cmp != 0) {
+                return cmp;
+            }
+            return key.length < this.prefix.length ? -1 : 0;
+        }
+
+        private int compareSuffix(byte[] key, int index) {
+            return Arrays.compareUnsigned(key, this.prefix.length, key.length,
+                    this.data, this.start(index), this.ends[index]);
+        }
+
+        @Override
+        byte[] key(int index) {
+            int start = this.start(index);
+            byte[] key = Arrays.copyOf(this.prefix, this.prefix.length + this.ends[index] - start);
+            System.arraycopy(this.data, start, key, this.prefix.length, this.ends[index] - start);
+            return key;
+        }
+
+        @Override
+        void insert(int index, byte[] key) {
+            if (this.count == 0) {
+                this.prefix = key.clone();
+            }
+
+            int shared = Arrays.mismatch(this.prefix, key);
+            if (shared >= 0 && shared < this.prefix.length) {
+                this.shortenPrefix(shared);
+            }
+
+            int length = key.length - this.prefix.length;
+            int used = this.used();
+            if (used + length > this.data.length) {
+                this.data = Arrays.copyOf(this.data, Math.max(used + length, this.data.length * 2));
+            }
+
+            int start = this.start(index);
+            System.arraycopy(this.data, start, this.data, start + length, used - start);
+            System.arraycopy(key, this.prefix.length, this.data, start, length);
+            for (int i = this.count; i > index; i--) {
+                this.ends[i] = this.ends[i - 1] + length;
+            }
+            this.ends[index] = start + length;
+            this.count++;
+        }
+
+        @Override
+        void remove(int index) {
+            int start = this.start(index);
+            int end = this.ends[index];
+            System.arraycopy(this.data, end, this.data, start, this.used() - end);
+            for (int i = index; i < this.count - 1; i++) {
+                this.ends[i] = this.ends[i + 1] - (end - start);
+            }
+            this.count--;
+            if (this.count == 0) {
+                this.prefix = EMPTY;
+            }
+        }
+
+        @Override
+        void replace(int index, byte[] key) {
+            this.remove(index);
+            this.insert(index, key);
+        }
+
+        // Appends the keys from index on to target and drops them here. Both sides then
+        // take the longest prefix their remaining keys share.
+        @Override
+        void moveTail(int from, NodeKeys<byte[]> tail) {
+            Keys target = (Keys) tail;
+            for (int i = from; i < this.count; i++) {
+                target.insert(target.count, this.key(i));
+            }
+            this.count = from;
+            if (from == 0) {
+                this.prefix = EMPTY;
+            }
+            this.tighten();
+            target.tighten();
+        }
+
+        // Moves the dropped tail of the prefix onto the front of every suffix.
+        private void shortenPrefix(int length) {
+            int extra = this.prefix.length - length;
+            byte[] data = new byte[this.used() + this.count * extra];
+            int start = 0;
+            int position = 0;
+            for (int i = 0; i < this.count; i++) {
+                System.arraycopy(this.prefix, length, data, position, extra);
+                position += extra;
+                System.arraycopy(this.data, start, data, position, this.ends[i] - start);
+                position += this.ends[i] - start;
+                start = this.ends[i];
+                this.ends[i] = position;
+            }
+            this.data = data;
+            this.prefix = Arrays.copyOf(this.prefix, length);
+        }
+
+        // Keys are sorted, so what the first and last share is shared by all of them.
+        private void tighten() {
+            if (this.count == 0) {
+                this.data = EMPTY;
+                return;
+            }
+
+            int firstEnd = this.ends[0];
+            int lastStart = this.start(this.count - 1);
+            int shared = Arrays.mismatch(this.data, 0, firstEnd, this.data, lastStart, this.ends[this.count - 1]);
+            if (shared < 0) {
+                shared = firstEnd;
+            }
+            shared = Math.min(shared, Math.min(firstEnd, this.ends[this.count - 1] - lastStart));
+
+            byte[] prefix = Arrays.copyOf(this.prefix, this.prefix.length + shared);
+            System.arraycopy(this.data, 0, prefix, this.prefix.length, shared);
+            byte[] data = new byte[this.used() - this.count * shared];
+            int start = 0;
+            int position = 0;
+            for (int i = 0; i < this.count; i++) {
+                int length = this.ends[i] - start - shared;
+                System.arraycopy(this.data, start + shared, data, position, length);
+                start = this.ends[i];
+                position += length;
+                this.ends[i] = position;
+            }
+            this.prefix = prefix;
+            this.data = data;
+        }
+
+        private int start(int index) {
+            return index == 0 ? 0 : this.ends[index - 1];
+        }
+
+        private int used() {
+            return this.count == 0 ? 0 : this.ends[this.count - 1];
+        }
+    }
+}
@@ -1,6 +1,104 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class TwoThreeTree<K extends Comparable<K>> {
     private TreeNode<K> root;
 
+    public static <K extends Comparable<K>> TwoThreeTree<K> fromSorted(Iterator<K> keys) {
+        return fromSorted(keys, 1.0);
+    }
+
+    // Builds the tree bottom-up from strictly increasing keys in one pass, holding only the
+    // right spine open: each level fills its open node with up to perNode keys, and the key
+    // that arrives after a full node closes it and moves up as the separator in front of
+    // the next node. Only the open nodes can end up short, so the spine is repaired last.
+    public static <K extends Comparable<K>> TwoThreeTree<K> fromSorted(Iterator<K> keys, double fillFactor) {
+        if (!(fillFactor > 0 && fillFactor <= 1)) {
+            throw new IllegalArgumentException();
+        }
+
+        int perNode = (int) Math.ceil(fillFactor * 2);
+        List<TreeNode<K>> spine = new ArrayList<>();
+        K last = null;
+        while (keys.hasNext()) {
+            K key = keys.next();
+            if (last != null && last.compareTo(key) >= 0) {
+                throw new IllegalArgumentException();
+            }
+            last = key;
+            push(spine, 0, null, key, perNode);
+        }
+
+        TwoThreeTree<K> tree = new TwoThreeTree<>();
+        if (!spine.isEmpty()) {
+            tree.root = close(spine);
+        }
+        return tree;
+    }
+
+    // Adds child, then key, to the open node of the level. A full node is closed instead
+    // and passes key up to the level above, with itself as the child on its left.
+    private static <K> void push(List<TreeNode<K>> spine, int level, TreeNode<K> child, K key, int perNode) {
+        if (level == spine.size()) {
+            spine.add(new TreeNode<>(null));
+        }
+
+        TreeNode<K> node = spine.get(level);
+        if (child != null) {
+            node.appendChild(child);
+        }
+        if (node.keyCount() < perNode) {
+            node.appendKey(key);
+        } else {
+            spine.set(level, new TreeNode<>(null));
+            push(spine, level + 1, node, key, perNode);
+        }
+    }
+
+    // Hangs every open node under the one above and then, from the top down, gives each
+    // open node without keys one from its left sibling, or merges it into that sibling
+    // when the sibling has only one. A merge can empty the parent, so the scan restarts.
+    private static <K> TreeNode<K> close(List<TreeNode<K>> spine) {
+        for (int level = 1; level < spine.size(); level++) {
+            spine.get(level).appendChild(spine.get(level - 1));
+        }
+        Collections.reverse(spine);
+
+        int level = 1;
+        while (true) {
+            while (spine.size() > 1 && spine.get(0).keyCount() == 0) {
+                spine.remove(0);
+                level = 1;
+            }
+            while (level < spine.size() && spine.get(level).keyCount() > 0) {
+                level++;
+            }
+            if (level == spine.size()) {
+                return spine.get(0);
+            }
+
+            TreeNode<K> parent = spine.get(level - 1);
+            TreeNode<K> node = spine.get(level);
+            TreeNode<K> sibling = parent.isThreeNode() ? parent.middleChild : parent.leftChild;
+            if (sibling.isThreeNode()) {
+                node.rightChild = node.leftChild;
+                node.leftChild = sibling.rightChild;
+                node.leftKey = parent.replaceLastKey(sibling.rightKey);
+                sibling.rightKey = null;
+                sibling.rightChild = sibling.middleChild;
+                sibling.middleChild = null;
+            } else {
+                sibling.appendKey(parent.removeLastKey());
+                sibling.appendChild(node.leftChild);
+                spine.set(level, sibling);
+                level = 1;
+            }
+        }
+    }
+
     public void insert(K key) {
         TreeNode<K> newNode = new TreeNode<>(key);
         if (this.root == null) {
@@ -84,6 +182,30 @@ public class TwoThreeTree<K extends Comparable<K>> {
     }
 
 
+    public void eachInOrder(Consumer<K> consumer) {
+        this.eachInOrder(this.root, consumer);
+    }
+
+    public EytzingerSnapshot<K> freeze() {
+        List<K> keys = new ArrayList<>();
+        this.eachInOrder(keys::add);
+        return EytzingerSnapshot.fromSorted(keys.iterator());
+    }
+
+    private void eachInOrder(TreeNode<K> node, Consumer<K> consumer) {
+        if (node == null) {
+            return;
+        }
+
+        this.eachInOrder(node.leftChild, consumer);
+        consumer.accept(node.leftKey);
+        if (node.isThreeNode()) {
+            this.eachInOrder(node.middleChild, consumer);
+            consumer.accept(node.rightKey);
+        }
+        this.eachInOrder(node.rightChild, consumer);
+    }
+
     public String getAsString() {
         StringBuilder out = new StringBuilder();
         recursivePrint(this.root, out);
@@ -150,5 +272,57 @@ public class TwoThreeTree<K extends Comparable<K>> {
         boolean isLeaf() {
             return this.leftChild == null && this.middleChild == null && this.rightChild == null;
         }
+
+        // fromSorted fills a node left to right. A node without keys keeps its only child
+        // in leftChild, and a later child always lands in rightChild.
+        int keyCount() {
+            return this.leftKey == null ? 0 : this.rightKey == null ? 1 : 2;
+        }
+
+        void appendKey(K key) {
+            if (this.leftKey == null) {
+                this.leftKey = key;
+            } else {
+                this.rightKey = key;
+                this.middleChild = this.rightChild;
+                this.rightChild = null;
+            }
+        }
+
+        void appendChild(TreeNode<K> child) {
+            if (this.leftKey == null) {
+                this.leftChild = child;
+            } else {
+                this.rightChild = child;
+            }
+        }
+
+        K replaceLastKey(K key) {
+            K last;
+            if (this.isThreeNode()) {
+                last = this.rightKey;
+                this.rightKey = key;
+            } else {
+                last = this.leftKey;
+                this.leftKey = key;
+            }
+            return last;
+        }
+
+        // Drops the last key together with the child to its right.
+        K removeLastKey() {
+            K last;
+            if (this.isThreeNode()) {
+                last = this.rightKey;
+                this.rightKey = null;
+                this.rightChild = this.middleChild;
+                this.middleChild = null;
+            } else {
+                last = this.leftKey;
+                this.leftKey = null;
+                this.rightChild = null;
+            }
+            return last;
+        }
     }
 }
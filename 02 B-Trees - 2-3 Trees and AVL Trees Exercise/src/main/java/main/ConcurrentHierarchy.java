@@ -0,0 +1,377 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// An IHierarchy for many readers and few writers. Readers take no locks: the element index
+// is a ConcurrentHashMap and every node publishes its parent and an immutable array of its
+// children through volatile fields. Writers serialize on one lock and replace a child
+// array with a modified copy, so a reader always walks a consistent list of children,
+// though a query spanning several nodes may see some writes and not others.
+//
+// Nothing here caches tour indices the way Hierarchy does, since every write would drop
+// them; ancestor queries walk parent links and cost O(depth).
+public class ConcurrentHierarchy<T> implements IHierarchy<T> {
+    private static final Node<?>[] EMPTY = new Node<?>[0];
+
+    private final ConcurrentHashMap<T, Node<T>> data;
+    private final Node<T> root;
+    private final Object writeLock = new Object();
+    private volatile int count;
+
+    private static final class Node<T> {
+        final T element;
+        volatile Node<T> parent;
+        volatile Node<T>[] children;
+
+        Node(T element, Node<T> parent) {
+            this.element = element;
+            this.parent = parent;
+            this.children = typed(EMPTY);
+        }
+    }
+
+    public ConcurrentHierarchy(T element) {
+        this.data = new ConcurrentHashMap<>();
+        this.root = new Node<>(element, null);
+        this.data.put(element, root);
+        count = 1;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    // The child is indexed before it is linked, so once a reader finds it among its
+    // parent's children, getParent on it succeeds.
+    @Override
+    public void add(T element, T child) {
+        synchronized (writeLock) {
+            Node<T> parent = getNode(element);
+            if (this.data.containsKey(child)) {
+                throw new IllegalArgumentException();
+            }
+            Node<T> node = new Node<>(child, parent);
+            this.data.put(child, node);
+            Node<T>[] children = parent.children;
+            Node<T>[] updated = copyOf(children, children.length + 1);
+            updated[children.length] = node;
+            parent.children = updated;
+            count++;
+        }
+    }
+
+    @Override
+    public void remove(T element) {
+        synchronized (writeLock) {
+            Node<T> node = getNode(element);
+            if (node == root) {
+                throw new IllegalStateException();
+            }
+            Node<T> parent = node.parent;
+            Node<T>[] orphans = node.children;
+            for (Node<T> orphan : orphans) {
+                orphan.parent = parent;
+            }
+
+            Node<T>[] siblings = parent.children;
+            Node<T>[] updated = without(siblings, node, orphans.length);
+            System.arraycopy(orphans, 0, updated, siblings.length - 1, orphans.length);
+            parent.children = updated;
+            this.data.remove(element);
+            count--;
+        }
+    }
+
+    // The node is linked under newParent before it leaves its old parent, so readers walking
+    // down from the root always find it, at worst briefly in both places.
+    @Override
+    public void move(T element, T newParent) {
+        synchronized (writeLock) {
+            Node<T> node = getNode(element);
+            Node<T> target = getNode(newParent);
+            if (node == root) {
+                throw new IllegalStateException();
+            }
+            for (Node<T> ancestor = target; ancestor != null; ancestor = ancestor.parent) {
+                if (ancestor == node) {
+                    throw new IllegalArgumentException();
+                }
+            }
+
+            Node<T> oldParent = node.parent;
+            if (oldParent == target) {
+                Node<T>[] reordered = without(target.children, node, 1);
+                reordered[reordered.length - 1] = node;
+                target.children = reordered;
+                return;
+            }
+            Node<T>[] children = target.children;
+            Node<T>[] appended = copyOf(children, children.length + 1);
+            appended[children.length] = node;
+            target.children = appended;
+            node.parent = target;
+            oldParent.children = without(oldParent.children, node, 0);
+        }
+    }
+
+    @Override
+    public Iterable<T> getChildren(T element) {
+        Node<T>[] children = getNode(element).children;
+        List<T> result = new ArrayList<>(children.length);
+        for (Node<T> child : children) {
+            result.add(child.element);
+        }
+        return result;
+    }
+
+    @Override
+    public T getParent(T element) {
+        Node<T> parent = getNode(element).parent;
+        return parent == null ? null : parent.element;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return this.data.containsKey(element);
+    }
+
+    @Override
+    public Iterable<T> getCommonElements(IHierarchy<T> other) {
+        return this.data
+                .keySet()
+                .stream()
+                .filter(other::contains)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Iterable<T> union(IHierarchy<T> other) {
+        List<T> result = new ArrayList<>(this.data.keySet());
+        for (T element : other) {
+            if (!this.data.containsKey(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterable<T> difference(IHierarchy<T> other) {
+        return this.data
+                .keySet()
+                .stream()
+                .filter(e -> !other.contains(e))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isAncestor(T ancestor, T descendant) {
+        Node<T> a = getNode(ancestor);
+        for (Node<T> node = getNode(descendant).parent; node != null; node = node.parent) {
+            if (node == a) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int depth(T element) {
+        return depth(getNode(element));
+    }
+
+    @Override
+    public int subtreeSize(T element) {
+        int[] size = new int[1];
+        walk(getNode(element), n -> size[0]++);
+        return size[0];
+    }
+
+    @Override
+    public Iterable<T> descendants(T element) {
+        Node<T> start = getNode(element);
+        List<T> result = new ArrayList<>();
+        walk(start, n -> {
+            if (n != start) {
+                result.add(n.element);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public T getLowestCommonAncestor(T first, T second) {
+        List<Node<T>> a = pathFromRoot(getNode(first));
+        List<Node<T>> b = pathFromRoot(getNode(second));
+        return a.get(commonPrefix(a, b) - 1).element;
+    }
+
+    @Override
+    public int distance(T first, T second) {
+        List<Node<T>> a = pathFromRoot(getNode(first));
+        List<Node<T>> b = pathFromRoot(getNode(second));
+        return a.size() + b.size() - 2 * commonPrefix(a, b);
+    }
+
+    @Override
+    public Stream<List<T>> levels() {
+        Iterator<List<T>> levels = new Iterator<List<T>>() {
+            List<Node<T>> level = Collections.singletonList(root);
+
+            @Override
+            public boolean hasNext() {
+                return !level.isEmpty();
+            }
+
+            @Override
+            public List<T> next() {
+                if (level.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> elements = new ArrayList<>(level.size());
+                List<Node<T>> below = new ArrayList<>();
+                for (Node<T> node : level) {
+                    elements.add(node.element);
+                    Collections.addAll(below, node.children);
+                }
+                level = below;
+                return elements;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                levels, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Depth first over the child arrays, each read once, so a split never sees a child
+    // list half written. Like any read here it may see some concurrent writes and not
+    // others, and an element moved during the walk can be reported twice or not at all.
+    @Override
+    public Spliterator<T> spliterator() {
+        return new HierarchySpliterator<>(new HierarchySpliterator.Shape<Node<T>, T>() {
+            @Override
+            public T element(Node<T> node) {
+                return node.element;
+            }
+
+            @Override
+            public void pushChildren(Node<T> node, Deque<Node<T>> deque) {
+                Node<T>[] children = node.children;
+                for (int i = children.length - 1; i >= 0; i--) {
+                    deque.addFirst(children[i]);
+                }
+            }
+        }, root, data.size(), Spliterator.CONCURRENT);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Deque<Node<T>> deque = new ArrayDeque<>(Collections.singletonList(root));
+
+            @Override
+            public boolean hasNext() {
+                return !deque.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Node<T> node = deque.poll();
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                Collections.addAll(deque, node.children);
+                return node.element;
+            }
+        };
+    }
+
+    private Node<T> getNode(T element) {
+        Node<T> node = this.data.get(element);
+        if (node == null) {
+            throw new IllegalArgumentException();
+        }
+        return node;
+    }
+
+    // Reads every parent link once, so the path stays whole even if a remove above the node
+    // runs at the same time. It always starts at the root, which is never removed.
+    private static <T> List<Node<T>> pathFromRoot(Node<T> node) {
+        List<Node<T>> path = new ArrayList<>();
+        for (; node != null; node = node.parent) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static <T> int commonPrefix(List<Node<T>> a, List<Node<T>> b) {
+        int length = 0;
+        int limit = Math.min(a.size(), b.size());
+        while (length < limit && a.get(length) == b.get(length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static <T> int depth(Node<T> node) {
+        int depth = 0;
+        for (Node<T> parent = node.parent; parent != null; parent = parent.parent) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static <T> void walk(Node<T> start, Consumer<Node<T>> visitor) {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.pop();
+            visitor.accept(node);
+            Node<T>[] children = node.children;
+            for (int i = children.length - 1; i >= 0; i--) {
+                stack.push(children[i]);
+            }
+        }
+    }
+
+    // A copy of children without node, followed by spare empty slots.
+    private static <T> Node<T>[] without(Node<T>[] children, Node<T> node, int spare) {
+        Node<T>[] copy = copyOf(null, children.length - 1 + spare);
+        int index = 0;
+        for (Node<T> child : children) {
+            if (child != node) {
+                copy[index++] = child;
+            }
+        }
+        return copy;
+    }
+
+    private static <T> Node<T>[] copyOf(Node<T>[] source, int length) {
+        Node<T>[] copy = typed(new Node<?>[length]);
+        if (source != null) {
+            System.arraycopy(source, 0, copy, 0, Math.min(source.length, length));
+        }
+        return copy;
+    }
+
+    // The one unchecked step: child arrays are created as Node<?>[] and only ever hold
+    // nodes of this hierarchy's element type.
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] typed(Node<?>[] nodes) {
+        return (Node<T>[]) nodes;
+    }
+}
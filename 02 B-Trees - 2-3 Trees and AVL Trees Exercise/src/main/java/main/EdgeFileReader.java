@@ -0,0 +1,133 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// Reads "parent,child" lines from a UTF-8 file in one pass. The file is mapped read-only one
+// window of at most WINDOW bytes at a time and scanned in place, so the only bytes copied
+// out are each name's, which its String needs anyway, and a line cut by a window boundary,
+// which is carried over in a small buffer. Blank lines are skipped, and "\r\n" endings and
+// ASCII blanks around either name are allowed.
+class EdgeFileReader {
+    static final int WINDOW = 64 << 20;
+    // Bytes in a line such as "12499,49997\n". Lines of the numeric ids these files usually
+    // hold are about this long, and longer names only make the estimate err high.
+    private static final int SHORT_LINE = 12;
+
+    private final Path file;
+    private final int window;
+    private byte[] carry = new byte[256];
+    private int carried;
+    private byte[] name = new byte[64];
+
+    EdgeFileReader(Path file) {
+        this(file, WINDOW);
+    }
+
+    EdgeFileReader(Path file, int window) {
+        this.file = file;
+        this.window = window;
+    }
+
+    // A guess at the number of lines from the file's size alone, so that a caller can
+    // presize for them without a pass of its own over the file.
+    long estimateLines() {
+        try {
+            return Files.size(this.file) / SHORT_LINE + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void forEachEdge(BiConsumer<String, String> edge) {
+        this.carried = 0;
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += this.window) {
+                int length = (int) Math.min(this.window, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                this.scan(window, length, edge);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (this.carried > 0) {
+            this.parse(ByteBuffer.wrap(this.carry), 0, this.carried, edge);
+        }
+    }
+
+    private void scan(ByteBuffer window, int length, BiConsumer<String, String> edge) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (window.get(i) != '\n') {
+                continue;
+            }
+            if (this.carried > 0) {
+                this.carry(window, start, i);
+                this.parse(ByteBuffer.wrap(this.carry), 0, this.carried, edge);
+                this.carried = 0;
+            } else {
+                this.parse(window, start, i, edge);
+            }
+            start = i + 1;
+        }
+        this.carry(window, start, length);
+    }
+
+    private void carry(ByteBuffer bytes, int from, int to) {
+        int length = to - from;
+        if (this.carried + length > this.carry.length) {
+            this.carry = Arrays.copyOf(this.carry, Math.max(this.carried + length, this.carry.length * 2));
+        }
+        bytes.get(from, this.carry, this.carried, length);
+        this.carried += length;
+    }
+
+    private void parse(ByteBuffer line, int from, int to, BiConsumer<String, String> edge) {
+        int comma = -1;
+        for (int i = from; i < to; i++) {
+            if (line.get(i) == ',') {
+                comma = i;
+                break;
+            }
+        }
+        if (comma < 0) {
+            String text = this.name(line, from, to);
+            if (text.isEmpty()) {
+                return;
+            }
+            throw new IllegalArgumentException("Expected parent,child but got: " + text);
+        }
+        edge.accept(this.name(line, from, comma), this.name(line, comma + 1, to));
+    }
+
+    private String name(ByteBuffer line, int from, int to) {
+        while (from < to && isBlank(line.get(from))) {
+            from++;
+        }
+        while (to > from && isBlank(line.get(to - 1))) {
+            to--;
+        }
+        int length = to - from;
+        if (length > this.name.length) {
+            this.name = new byte[Math.max(length, this.name.length * 2)];
+        }
+        line.get(from, this.name, 0, length);
+        return new String(this.name, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // ASCII space and control characters. Every byte of a multi-byte UTF-8 character is
+    // negative as a Java byte, so it has to be compared unsigned to be kept.
+    private static boolean isBlank(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+}
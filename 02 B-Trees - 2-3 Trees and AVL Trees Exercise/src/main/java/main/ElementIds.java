@@ -0,0 +1,60 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hands out dense int ids, 0, 1, 2, ..., to elements the first time they are seen. Hierarchies
+// built on the same instance agree on every element's id, so their element sets can be kept
+// as BitSets and combined a 64-bit word at a time. Ids are never reused: an element keeps its
+// id after every hierarchy has removed it, since a hierarchy may be dropped without removing
+// anything and nothing counts which ones still hold an id. The instance therefore grows with
+// every distinct element it has seen, so workloads that churn through short-lived elements
+// should start a fresh ElementIds, and fresh hierarchies on it, from time to time.
+public class ElementIds<T> {
+    private Map<T, Integer> ids;
+    private List<T> elements;
+
+    public ElementIds() {
+        this.ids = new HashMap<>();
+        this.elements = new ArrayList<>();
+    }
+
+    public int intern(T element) {
+        Integer id = this.ids.get(element);
+        if (id == null) {
+            id = this.elements.size();
+            this.ids.put(element, id);
+            this.elements.add(element);
+        }
+        return id;
+    }
+
+    // -1 when the element has never been interned.
+    public int idOf(T element) {
+        Integer id = this.ids.get(element);
+        return id == null ? -1 : id;
+    }
+
+    public T element(int id) {
+        if (id < 0 || id >= this.elements.size()) {
+            throw new IllegalArgumentException();
+        }
+        return this.elements.get(id);
+    }
+
+    public int size() {
+        return this.elements.size();
+    }
+
+    // The elements whose ids are set, in id order.
+    public List<T> elements(BitSet set) {
+        List<T> result = new ArrayList<>(set.cardinality());
+        for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+            result.add(this.elements.get(id));
+        }
+        return result;
+    }
+}
@@ -1,14 +1,38 @@
 package main;
 
 import javax.swing.text.html.HTMLDocument;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Hierarchy<T> implements IHierarchy<T> {
     private Map<T, HierarchyNode<T>> data;
     private HierarchyNode<T> root;
     private int count;
+    // Both null unless the hierarchy was given an ElementIds.
+    private ElementIds<T> ids;
+    private BitSet members;
+    // Every node keeps its depth and a jump link (see HierarchyNode.relink), so depth is
+    // O(1) and the ancestor queries climb in O(log n) without any index over the whole
+    // tree. add sets them in O(1) and move in O(size of the moved subtree). Removing a
+    // node with children lifts its whole subtree a level, so it only marks them stale and
+    // the next depth, ancestor query or move relinks every node in one O(n) pass; a burst
+    // of removals is paid for once.
+    private boolean levelsValid = true;
+    // Each node's pre-order number and the end of its run, so subtreeSize is exit - enter.
+    // Any change marks them stale. While stale, subtreeSize counts the subtree by walking
+    // it and adds that work to walked; only once the walks have cost count steps does it
+    // renumber the whole tree. A renumbering is thereby paid for by the walks before it,
+    // and each query costs O(size of the subtree) amortized however the tree changes.
+    private boolean tourValid;
+    private int walked;
 
+    // Interns nothing, so add and remove cost no id lookups, and the set operations make
+    // a hash lookup per element.
     public Hierarchy(T element) {
         this.data = new HashMap<>();
         this.root = new HierarchyNode<>(element);
@@ -16,6 +40,95 @@ public class Hierarchy<T> implements IHierarchy<T> {
         count++;
     }
 
+    // Hierarchies sharing ids answer getCommonElements, union and difference with BitSet
+    // operations instead of a hash lookup per element. The ids outlive the elements, see
+    // ElementIds, so share one only among hierarchies whose elements do not churn.
+    public Hierarchy(T element, ElementIds<T> ids) {
+        this(element);
+        this.ids = Objects.requireNonNull(ids);
+        this.members = new BitSet();
+        this.members.set(ids.intern(element));
+    }
+
+    private Hierarchy(Map<T, HierarchyNode<T>> data, HierarchyNode<T> root, ElementIds<T> ids, BitSet members) {
+        this.data = data;
+        this.ids = ids;
+        this.members = members;
+        this.root = root;
+        count = data.size();
+    }
+
+    // Builds a hierarchy from a file of "parent,child" lines, listed in any order, reading the
+    // file once. The edges are linked without the checks add makes; one pass at the end
+    // then confirms they form a single tree and throws
+    // IllegalArgumentException for a child listed twice, no root or more than one, or a
+    // cycle that the root cannot reach.
+    public static <T> Hierarchy<T> fromEdgeFile(Path file, Function<String, T> parser) {
+        return load(new EdgeFileReader(file), parser, null);
+    }
+
+    public static <T> Hierarchy<T> fromEdgeFile(Path file, Function<String, T> parser, ElementIds<T> ids) {
+        return load(new EdgeFileReader(file), parser, Objects.requireNonNull(ids));
+    }
+
+    // The index is sized for the file's estimated line count plus the root, so it rarely
+    // rehashes while it fills.
+    static <T> Hierarchy<T> load(EdgeFileReader reader, Function<String, T> parser, ElementIds<T> ids) {
+        long nodes = reader.estimateLines() + 1;
+        Map<T, HierarchyNode<T>> data = new HashMap<>((int) Math.min(1 << 30, nodes * 4 / 3 + 1));
+        BitSet members = ids == null ? null : new BitSet();
+        Function<T, HierarchyNode<T>> create = element -> {
+            if (ids != null) {
+                members.set(ids.intern(element));
+            }
+            return new HierarchyNode<>(element);
+        };
+        long[] edges = {0};
+        boolean[] relinked = {false};
+        reader.forEachEdge((parentName, childName) -> {
+            HierarchyNode<T> parent = data.computeIfAbsent(parser.apply(parentName), create);
+            HierarchyNode<T> child = data.computeIfAbsent(parser.apply(childName), create);
+            if (child.getParent() != null) {
+                relinked[0] = true;
+                return;
+            }
+            parent.addChild(child);
+            edges[0]++;
+        });
+
+        // Every node but the root is linked exactly once, so there is one root, and it is
+        // reached by climbing from any node unless that node sits on a cycle.
+        if (relinked[0] || edges[0] != data.size() - 1) {
+            throw new IllegalArgumentException();
+        }
+        HierarchyNode<T> root = data.values().iterator().next();
+        for (long steps = 0; root.getParent() != null; steps++) {
+            if (steps == edges[0]) {
+                throw new IllegalArgumentException();
+            }
+            root = root.getParent();
+        }
+
+        // With one parent per node, reaching every node from the root rules out cycles. The
+        // walk visits parents before their children, so it sets the depths on the way.
+        int reached = 0;
+        List<HierarchyNode<T>> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            HierarchyNode<T> node = stack.remove(stack.size() - 1);
+            node.relink();
+            reached++;
+            for (HierarchyNode<T> child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                stack.add(child);
+            }
+        }
+        if (reached != data.size()) {
+            throw new IllegalArgumentException();
+        }
+
+        return new Hierarchy<>(data, root, ids, members);
+    }
+
     @Override
     public int getCount() {
         return count;
@@ -27,10 +140,14 @@ public class Hierarchy<T> implements IHierarchy<T> {
         ensureUnique(child);
         HierarchyNode<T> parentNode = this.data.get(element);
         HierarchyNode<T> childNode = new HierarchyNode<>(child);
-        childNode.setParent(parentNode);
-        parentNode.getChildren().add(childNode);
+        parentNode.addChild(childNode);
+        childNode.relink();
         this.data.put(child, childNode);
+        if (this.ids != null) {
+            this.members.set(this.ids.intern(child));
+        }
         count++;
+        tourValid = false;
     }
 
     private void ensureUnique(T element) {
@@ -39,6 +156,14 @@ public class Hierarchy<T> implements IHierarchy<T> {
         }
     }
 
+    private HierarchyNode<T> getNode(T element) {
+        HierarchyNode<T> node = this.data.get(element);
+        if (node == null) {
+            throw new IllegalArgumentException();
+        }
+        return node;
+    }
+
     private void ensureExist(T element) {
         if (!this.data.containsKey(element)) {
             throw new IllegalArgumentException();
@@ -53,21 +178,49 @@ public class Hierarchy<T> implements IHierarchy<T> {
             throw new IllegalStateException();
         }
         HierarchyNode<T> parent = node.getParent();
-        node.getChildren().forEach(n -> n.setParent(parent));
-        parent.getChildren().addAll(node.getChildren());
-        parent.getChildren().remove(node);
+        if (node.getFirstChild() != null) {
+            levelsValid = false;
+        }
+        parent.removeChild(node);
+        parent.adoptChildren(node);
         this.data.remove(element);
+        if (this.ids != null) {
+            this.members.clear(this.ids.idOf(element));
+        }
         count--;
+        tourValid = false;
+    }
+
+    // Cutting the node out and linking it under newParent is O(1), and checking that
+    // newParent is not inside the node's subtree climbs the jump links in O(log n). The
+    // depths and jumps below the node then have to follow, so a move costs O(log n + size
+    // of the moved subtree) in all, plus the one O(n) relink a remove may have left due.
+    @Override
+    public void move(T element, T newParent) {
+        HierarchyNode<T> node = getNode(element);
+        HierarchyNode<T> target = getNode(newParent);
+        if (node == this.root) {
+            throw new IllegalStateException();
+        }
+        ensureLevels();
+        if (target.getDepth() >= node.getDepth() && target.ancestorAt(node.getDepth()) == node) {
+            throw new IllegalArgumentException();
+        }
+        node.getParent().removeChild(node);
+        target.addChild(node);
+        relinkSubtree(node);
+        tourValid = false;
     }
 
     @Override
     public Iterable<T> getChildren(T element) {
         ensureExist(element);
         HierarchyNode<T> node = this.data.get(element);
-        return node.getChildren()
-                .stream()
-                .map(HierarchyNode::getElement)
-                .collect(Collectors.toList());
+        List<T> children = new ArrayList<>(node.getChildCount());
+        for (HierarchyNode<T> child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            children.add(child.getElement());
+        }
+        return children;
     }
 
     @Override
@@ -83,15 +236,264 @@ public class Hierarchy<T> implements IHierarchy<T> {
         return this.data.containsKey(element);
     }
 
+    // The set operations list this hierarchy's elements in its own order, see members(),
+    // and union appends the other's remaining elements in the other's order. The BitSet
+    // path and the hash lookup path therefore agree.
     @Override
     public Iterable<T> getCommonElements(IHierarchy<T> other) {
-        return this.data
-                .keySet()
+        BitSet otherMembers = sharedMembers(other);
+        if (otherMembers != null) {
+            BitSet result = (BitSet) this.members.clone();
+            result.and(otherMembers);
+            return this.ids.elements(result);
+        }
+
+        return this.members()
                 .stream()
                 .filter(other::contains)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Iterable<T> union(IHierarchy<T> other) {
+        BitSet otherMembers = sharedMembers(other);
+        if (otherMembers != null) {
+            BitSet extra = (BitSet) otherMembers.clone();
+            extra.andNot(this.members);
+            List<T> result = this.ids.elements(this.members);
+            result.addAll(this.ids.elements(extra));
+            return result;
+        }
+
+        List<T> result = new ArrayList<>(this.members());
+        for (T element : membersOf(other)) {
+            if (!this.data.containsKey(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterable<T> difference(IHierarchy<T> other) {
+        BitSet otherMembers = sharedMembers(other);
+        if (otherMembers != null) {
+            BitSet result = (BitSet) this.members.clone();
+            result.andNot(otherMembers);
+            return this.ids.elements(result);
+        }
+
+        return this.members()
+                .stream()
+                .filter(e -> !other.contains(e))
+                .collect(Collectors.toList());
+    }
+
+    // The other hierarchy's id set when both draw ids from the same ElementIds, else null.
+    private BitSet sharedMembers(IHierarchy<T> other) {
+        if (this.ids != null && other instanceof Hierarchy && ((Hierarchy<T>) other).ids == this.ids) {
+            return ((Hierarchy<T>) other).members;
+        }
+        return null;
+    }
+
+    // The elements in id order when the hierarchy has ids, else in hash order.
+    private Collection<T> members() {
+        return this.ids != null ? this.ids.elements(this.members) : this.data.keySet();
+    }
+
+    private static <T> Iterable<T> membersOf(IHierarchy<T> hierarchy) {
+        return hierarchy instanceof Hierarchy ? ((Hierarchy<T>) hierarchy).members() : hierarchy;
+    }
+
+    @Override
+    public boolean isAncestor(T ancestor, T descendant) {
+        HierarchyNode<T> a = getNode(ancestor);
+        HierarchyNode<T> d = getNode(descendant);
+        ensureLevels();
+        return a.getDepth() < d.getDepth() && d.ancestorAt(a.getDepth()) == a;
+    }
+
+    @Override
+    public int depth(T element) {
+        HierarchyNode<T> node = getNode(element);
+        ensureLevels();
+        return node.getDepth();
+    }
+
+    @Override
+    public int subtreeSize(T element) {
+        HierarchyNode<T> node = getNode(element);
+        if (!tourValid && walked < count) {
+            int size = preOrder(node, visited -> { });
+            walked += size;
+            return size;
+        }
+        ensureTour();
+        return node.getExit() - node.getEnter();
+    }
+
+    @Override
+    public Iterable<T> descendants(T element) {
+        HierarchyNode<T> node = getNode(element);
+        List<T> descendants = new ArrayList<>();
+        preOrder(node, visited -> {
+            if (visited != node) {
+                descendants.add(visited.getElement());
+            }
+        });
+        return descendants;
+    }
+
+    @Override
+    public T getLowestCommonAncestor(T first, T second) {
+        return lowestCommonAncestor(getNode(first), getNode(second)).getElement();
+    }
+
+    @Override
+    public int distance(T first, T second) {
+        HierarchyNode<T> a = getNode(first);
+        HierarchyNode<T> b = getNode(second);
+        HierarchyNode<T> ancestor = lowestCommonAncestor(a, b);
+        return a.getDepth() + b.getDepth() - 2 * ancestor.getDepth();
+    }
+
+    // Lifts the deeper node to the other's depth, then climbs both in step. Jump links
+    // depend only on depth, so the two jump together until just below the common
+    // ancestor and finish with parent steps: O(log n) without an index to rebuild.
+    private HierarchyNode<T> lowestCommonAncestor(HierarchyNode<T> a, HierarchyNode<T> b) {
+        ensureLevels();
+        if (a.getDepth() > b.getDepth()) {
+            a = a.ancestorAt(b.getDepth());
+        } else {
+            b = b.ancestorAt(a.getDepth());
+        }
+        while (a != b) {
+            if (a.getJump() != b.getJump()) {
+                a = a.getJump();
+                b = b.getJump();
+            } else {
+                a = a.getParent();
+                b = b.getParent();
+            }
+        }
+        return a;
+    }
+
+    private void ensureLevels() {
+        if (!levelsValid) {
+            relinkSubtree(root);
+            levelsValid = true;
+        }
+    }
+
+    // Sets depths and jumps from start down, each parent before its children.
+    private static <T> void relinkSubtree(HierarchyNode<T> start) {
+        Deque<HierarchyNode<T>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            HierarchyNode<T> node = stack.pop();
+            node.relink();
+            for (HierarchyNode<T> child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    // Numbers the nodes in pre-order, then sizes the subtrees by walking that order
+    // backwards, where every node comes after all of its descendants.
+    private void ensureTour() {
+        if (tourValid) {
+            return;
+        }
+
+        List<HierarchyNode<T>> order = new ArrayList<>(count);
+        int[] sizes = new int[count];
+        preOrder(root, node -> {
+            node.setTour(order.size(), 0);
+            order.add(node);
+        });
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            HierarchyNode<T> node = order.get(i);
+            sizes[i]++;
+            node.setTour(i, i + sizes[i]);
+            if (node.getParent() != null) {
+                sizes[node.getParent().getEnter()] += sizes[i];
+            }
+        }
+
+        tourValid = true;
+        walked = 0;
+    }
+
+    // Visits start and everything below it, each node before its children and children
+    // in order, and returns how many nodes it visited.
+    private static <T> int preOrder(HierarchyNode<T> start, Consumer<HierarchyNode<T>> visit) {
+        int visited = 0;
+        Deque<HierarchyNode<T>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            HierarchyNode<T> node = stack.pop();
+            visit.accept(node);
+            visited++;
+            for (HierarchyNode<T> child = node.getLastChild(); child != null; child = child.getPreviousSibling()) {
+                stack.push(child);
+            }
+        }
+        return visited;
+    }
+
+    @Override
+    public Stream<List<T>> levels() {
+        Iterator<List<T>> levels = new Iterator<List<T>>() {
+            List<HierarchyNode<T>> level = Collections.singletonList(root);
+
+            @Override
+            public boolean hasNext() {
+                return !level.isEmpty();
+            }
+
+            @Override
+            public List<T> next() {
+                if (level.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> elements = new ArrayList<>(level.size());
+                List<HierarchyNode<T>> below = new ArrayList<>();
+                for (HierarchyNode<T> node : level) {
+                    elements.add(node.getElement());
+                    for (HierarchyNode<T> child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                        below.add(child);
+                    }
+                }
+                level = below;
+                return elements;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                levels, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Depth-first rather than the iterator's breadth-first order, so that splits can hand
+    // out whole subtrees. The hierarchy must not change while a stream is running.
+    @Override
+    public Spliterator<T> spliterator() {
+        return new HierarchySpliterator<>(new HierarchySpliterator.Shape<HierarchyNode<T>, T>() {
+            @Override
+            public T element(HierarchyNode<T> node) {
+                return node.getElement();
+            }
+
+            @Override
+            public void pushChildren(HierarchyNode<T> node, Deque<HierarchyNode<T>> deque) {
+                for (HierarchyNode<T> child = node.getLastChild(); child != null; child = child.getPreviousSibling()) {
+                    deque.addFirst(child);
+                }
+            }
+        }, root, count, Spliterator.DISTINCT);
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new Iterator<T>() {
@@ -105,7 +507,9 @@ public class Hierarchy<T> implements IHierarchy<T> {
             @Override
             public T next() {
                 HierarchyNode<T> node = deque.poll();
-                node.getChildren().forEach(deque::offer);
+                for (HierarchyNode<T> child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    deque.offer(child);
+                }
                 return node.getElement();
             }
         };
@@ -1,30 +1,101 @@
 package main;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
+// Children form an intrusive doubly-linked list through the sibling fields, so a node can
+// be unlinked from its parent, or a whole run of children handed to another parent,
+// without searching or copying a list.
 public class HierarchyNode<T> {
     private T element;
     private HierarchyNode<T> parent;
-    private List<HierarchyNode<T>> children;
+    private HierarchyNode<T> firstChild;
+    private HierarchyNode<T> lastChild;
+    private HierarchyNode<T> previousSibling;
+    private HierarchyNode<T> nextSibling;
+    private int childCount;
+    private int enter;
+    private int exit;
+    private int depth;
+    private HierarchyNode<T> jump = this;
 
     public HierarchyNode(T element) {
         this.element = element;
-        this.children = new ArrayList<>();
-    }
-
-    public void setParent(HierarchyNode<T> parent) {
-        this.parent = parent;
     }
 
     public HierarchyNode<T> getParent() {
         return parent;
     }
 
-    public List<HierarchyNode<T>> getChildren() {
-        return children;
+    public HierarchyNode<T> getFirstChild() {
+        return firstChild;
+    }
+
+    public HierarchyNode<T> getLastChild() {
+        return lastChild;
+    }
+
+    public HierarchyNode<T> getPreviousSibling() {
+        return previousSibling;
+    }
+
+    public HierarchyNode<T> getNextSibling() {
+        return nextSibling;
+    }
+
+    public int getChildCount() {
+        return childCount;
+    }
+
+    // Appends child, which must not have a parent, as the last child.
+    public void addChild(HierarchyNode<T> child) {
+        child.parent = this;
+        child.previousSibling = lastChild;
+        child.nextSibling = null;
+        if (lastChild == null) {
+            firstChild = child;
+        } else {
+            lastChild.nextSibling = child;
+        }
+        lastChild = child;
+        childCount++;
+    }
+
+    // Unlinks child, which must be a child of this node, in O(1).
+    public void removeChild(HierarchyNode<T> child) {
+        if (child.previousSibling == null) {
+            firstChild = child.nextSibling;
+        } else {
+            child.previousSibling.nextSibling = child.nextSibling;
+        }
+        if (child.nextSibling == null) {
+            lastChild = child.previousSibling;
+        } else {
+            child.nextSibling.previousSibling = child.previousSibling;
+        }
+        child.parent = null;
+        child.previousSibling = null;
+        child.nextSibling = null;
+        childCount--;
+    }
+
+    // Moves all of other's children, in order, to the end of this node's children. The
+    // lists are spliced in O(1); only the parent links are rewritten one by one.
+    public void adoptChildren(HierarchyNode<T> other) {
+        if (other.firstChild == null) {
+            return;
+        }
+        for (HierarchyNode<T> child = other.firstChild; child != null; child = child.nextSibling) {
+            child.parent = this;
+        }
+        if (lastChild == null) {
+            firstChild = other.firstChild;
+        } else {
+            lastChild.nextSibling = other.firstChild;
+            other.firstChild.previousSibling = lastChild;
+        }
+        lastChild = other.lastChild;
+        childCount += other.childCount;
+        other.firstChild = null;
+        other.lastChild = null;
+        other.childCount = 0;
     }
 
     public T getElement() {
@@ -34,4 +105,53 @@ public class HierarchyNode<T> {
     public void setElement(T element) {
         this.element = element;
     }
+
+    // Position of this node in the hierarchy's pre-order (Euler tour) numbering.
+    public int getEnter() {
+        return enter;
+    }
+
+    // One past the last position taken by this node's subtree.
+    public int getExit() {
+        return exit;
+    }
+
+    public void setTour(int enter, int exit) {
+        this.enter = enter;
+        this.exit = exit;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // An ancestor further up than the parent, or the parent itself. See relink.
+    public HierarchyNode<T> getJump() {
+        return jump;
+    }
+
+    // Recomputes depth and jump from the parent's, which must be current. Jumps follow
+    // Myers' skew-binary scheme: a node's jump is its parent's jump's jump when the two
+    // jumps below it span equal distances, else its parent. Any ancestor is then reached
+    // in O(log depth) steps, and unlike a binary lifting table each node needs one link
+    // that is set in O(1) when the node is added.
+    public void relink() {
+        if (parent == null) {
+            depth = 0;
+            jump = this;
+            return;
+        }
+        depth = parent.depth + 1;
+        HierarchyNode<T> up = parent.jump;
+        jump = parent.depth - up.depth == up.depth - up.jump.depth ? up.jump : parent;
+    }
+
+    // The ancestor at the given depth, which must not exceed this node's.
+    public HierarchyNode<T> ancestorAt(int depth) {
+        HierarchyNode<T> node = this;
+        while (node.depth > depth) {
+            node = node.jump.depth >= depth ? node.jump : node.parent;
+        }
+        return node;
+    }
 }
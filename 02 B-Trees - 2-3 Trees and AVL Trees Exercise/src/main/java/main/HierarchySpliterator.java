@@ -0,0 +1,92 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Walks whole subtrees depth first. A split hands half of the pending subtrees to the new
+// spliterator; while only one is left, its root is kept back as a lone element and its
+// children become the subtrees to divide. Every split therefore falls on a child boundary
+// and no node is reached through more than one spliterator.
+//
+// The nodes are read through a Shape, so Hierarchy's sibling-linked nodes and
+// ConcurrentHierarchy's child arrays share the walk.
+class HierarchySpliterator<N, T> implements Spliterator<T> {
+    private final Shape<N, T> shape;
+    private final int characteristics;
+    private Deque<T> loose;
+    private Deque<N> subtrees;
+    private long estimate;
+
+    // What the walk needs of a node: its element, and its children pushed onto the front
+    // of a deque in reverse, so that the first child comes off first.
+    interface Shape<N, T> {
+        T element(N node);
+
+        void pushChildren(N node, Deque<N> deque);
+    }
+
+    HierarchySpliterator(Shape<N, T> shape, N root, long size, int characteristics) {
+        this(shape, characteristics, new ArrayDeque<>(), new ArrayDeque<>(List.of(root)), size);
+    }
+
+    private HierarchySpliterator(Shape<N, T> shape, int characteristics,
+                                 Deque<T> loose, Deque<N> subtrees, long estimate) {
+        this.shape = shape;
+        this.characteristics = characteristics;
+        this.loose = loose;
+        this.subtrees = subtrees;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!this.loose.isEmpty()) {
+            action.accept(this.loose.poll());
+            return true;
+        }
+
+        N node = this.subtrees.pollFirst();
+        if (node == null) {
+            return false;
+        }
+        this.shape.pushChildren(node, this.subtrees);
+        action.accept(this.shape.element(node));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        while (this.subtrees.size() == 1) {
+            N node = this.subtrees.poll();
+            this.shape.pushChildren(node, this.subtrees);
+            if (this.subtrees.isEmpty()) {
+                this.subtrees.add(node);
+                return null;
+            }
+            this.loose.add(this.shape.element(node));
+        }
+        if (this.subtrees.size() < 2) {
+            return null;
+        }
+
+        Deque<N> given = new ArrayDeque<>();
+        for (int half = this.subtrees.size() / 2; half > 0; half--) {
+            given.addFirst(this.subtrees.pollLast());
+        }
+        this.estimate -= this.estimate / 2;
+        return new HierarchySpliterator<>(this.shape, this.characteristics, new ArrayDeque<>(), given, this.estimate);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+}
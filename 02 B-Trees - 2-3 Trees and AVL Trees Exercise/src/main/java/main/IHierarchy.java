@@ -1,5 +1,9 @@
 package main;
 
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface IHierarchy<T> extends Iterable<T> {
 
     int getCount();
@@ -8,6 +12,9 @@ public interface IHierarchy<T> extends Iterable<T> {
 
     void remove(T element);
 
+    // Makes element, together with everything below it, the last child of newParent.
+    void move(T element, T newParent);
+
     Iterable<T> getChildren(T element);
     
     T getParent(T element);
@@ -15,4 +22,40 @@ public interface IHierarchy<T> extends Iterable<T> {
     boolean contains(T element);
 
     Iterable<T> getCommonElements(IHierarchy<T> other);
+
+    // Every element found in this hierarchy, the other, or both.
+    Iterable<T> union(IHierarchy<T> other);
+
+    // The elements of this hierarchy that the other does not contain.
+    Iterable<T> difference(IHierarchy<T> other);
+
+    // True when ancestor lies strictly above descendant.
+    boolean isAncestor(T ancestor, T descendant);
+
+    // The root has depth 0.
+    int depth(T element);
+
+    // The number of elements under element, element itself included.
+    int subtreeSize(T element);
+
+    // Every element strictly below element, in depth-first pre-order.
+    Iterable<T> descendants(T element);
+
+    // The deepest element that is first or an ancestor of first, and likewise of second.
+    T getLowestCommonAncestor(T first, T second);
+
+    // The number of edges on the path between the two elements.
+    int distance(T first, T second);
+
+    // One list per breadth-first level, the root's level first. Each level is computed only
+    // when the stream reaches it.
+    Stream<List<T>> levels();
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,122 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class AVLMapTest {
+
+    @Test
+    public void navigation_Random_ShouldMatchTreeMap() {
+        // Arrange
+        AVLMap<Integer, String> map = new AVLMap<>();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(31);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000) * 2;
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+        }
+
+        // Act
+        // Assert
+        Assert.assertEquals(expected, map);
+        for (int i = -1; i < 4002; i++) {
+            Assert.assertEquals(expected.floorKey(i), map.floorKey(i));
+            Assert.assertEquals(expected.ceilingKey(i), map.ceilingKey(i));
+            Assert.assertEquals(expected.lowerKey(i), map.lowerKey(i));
+            Assert.assertEquals(expected.higherEntry(i), map.higherEntry(i));
+        }
+        Assert.assertEquals(expected.firstEntry(), map.firstEntry());
+        Assert.assertEquals(expected.lastKey(), map.lastKey());
+    }
+
+    @Test
+    public void views_ShouldMatchTreeMapViews() {
+        // Arrange
+        AVLMap<Integer, Integer> map = new AVLMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 100; i += 3) {
+            map.put(i, i * i);
+            expected.put(i, i * i);
+        }
+
+        // Act
+        NavigableMap<Integer, Integer> sub = map.subMap(10, true, 40, false);
+        NavigableMap<Integer, Integer> descending = map.descendingMap().headMap(50, true);
+
+        // Assert
+        Assert.assertEquals(expected.subMap(10, true, 40, false), sub);
+        Assert.assertEquals(10, sub.size());
+        Assert.assertEquals(List.copyOf(expected.descendingMap().headMap(50, true).keySet()),
+                new ArrayList<>(descending.keySet()));
+        Assert.assertEquals(Integer.valueOf(51), descending.lastKey());
+        Assert.assertEquals(Integer.valueOf(54), descending.lowerKey(51));
+        Assert.assertEquals(expected.tailMap(90, false), map.tailMap(90, false));
+        Assert.assertEquals(expected.headMap(0, false), map.headMap(0, false));
+        Assert.assertEquals(List.copyOf(expected.descendingKeySet()), new ArrayList<>(map.descendingKeySet()));
+    }
+
+    @Test
+    public void views_ShouldWriteThroughToTheTree() {
+        // Arrange
+        AVLMap<Integer, String> map = new AVLMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "v" + i);
+        }
+        NavigableMap<Integer, String> tail = map.tailMap(5, true);
+
+        // Act
+        tail.put(20, "v20");
+        tail.remove(6);
+        Iterator<Map.Entry<Integer, String>> iterator = tail.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+        tail.pollLastEntry();
+
+        // Assert
+        Assert.assertEquals(List.of(7, 8, 9), new ArrayList<>(tail.keySet()));
+        Assert.assertEquals(8, map.size());
+        Assert.assertFalse(map.containsKey(5));
+        Assert.assertFalse(map.containsKey(20));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void entrySetIterator_PutDuringIteration_ShouldThrow() {
+        // Arrange
+        AVLMap<Integer, String> map = new AVLMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "v" + i);
+        }
+
+        // Act
+        for (Integer key : map.keySet()) {
+            if (key == 3) {
+                map.put(100, "v100");
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void put_OutsideView_ShouldThrow() {
+        AVLMap<Integer, String> map = new AVLMap<>();
+
+        map.headMap(10).put(10, "ten");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subMap_OutsideView_ShouldThrow() {
+        AVLMap<Integer, String> map = new AVLMap<>();
+
+        map.headMap(10, false).subMap(0, 11);
+    }
+}
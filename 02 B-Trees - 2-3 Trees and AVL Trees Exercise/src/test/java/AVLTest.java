@@ -2,7 +2,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 public class AVLTest {
 
@@ -528,4 +533,479 @@ public class AVLTest {
         int[] expectedNodes = new int[] { };
         Assert.assertArrayEquals(expectedNodes, result);
     }
+
+    @Test
+    public void insert_SortedSequence_ShouldStayBalanced() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+
+        // Act
+        for (int i = 0; i < 1 << 16; i++) {
+            avl.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(17, avl.height());
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test
+    public void insertAndDelete_Random_ShouldKeepInvariantsAndParentLinks() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                avl.delete(value);
+                expected.remove(value);
+            } else {
+                avl.insert(value);
+                expected.add(value);
+            }
+        }
+        avl.deleteMin();
+        expected.pollFirst();
+        avl.deleteMax();
+        expected.pollLast();
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(new ArrayList<>(expected), nodes);
+        assertValid(avl.getRoot(), null);
+    }
+
+    // ORDER STATISTICS
+
+    @Test
+    public void rankAndSelect_ShouldBeInverse() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < 100; i++) {
+            avl.insert(i * 2);
+        }
+        avl.delete(50);
+
+        // Assert
+        Assert.assertEquals(99, avl.size());
+        Assert.assertEquals(25, avl.rank(50));
+        Assert.assertEquals(25, avl.rank(51));
+        Assert.assertEquals(Integer.valueOf(52), avl.select(25));
+        for (int i = 0; i < avl.size(); i++) {
+            Assert.assertEquals(i, avl.rank(avl.select(i)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select_OutOfRange_ShouldThrow() {
+        AVL<Integer> avl = new AVL<>();
+        avl.insert(1);
+
+        avl.select(1);
+    }
+
+    @Test
+    public void countInRange_ShouldCountInclusiveBounds() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 1; i <= 10; i++) {
+            avl.insert(i * 10);
+        }
+
+        // Assert
+        Assert.assertEquals(3, avl.countInRange(20, 40));
+        Assert.assertEquals(2, avl.countInRange(15, 35));
+        Assert.assertEquals(10, avl.countInRange(0, 1000));
+        Assert.assertEquals(0, avl.countInRange(40, 20));
+    }
+
+    @Test
+    public void percentile_ShouldUseNearestRank() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 1; i <= 20; i++) {
+            avl.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(Integer.valueOf(1), avl.percentile(0));
+        Assert.assertEquals(Integer.valueOf(10), avl.percentile(50));
+        Assert.assertEquals(Integer.valueOf(19), avl.percentile(95));
+        Assert.assertEquals(Integer.valueOf(20), avl.percentile(100));
+    }
+
+    // BULK BUILD, JOIN AND SPLIT
+
+    @Test
+    public void fromSorted_ShouldBuildBalancedTree() {
+        // Arrange
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i);
+        }
+
+        // Act
+        AVL<Integer> avl = AVL.fromSorted(values.iterator());
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(values, nodes);
+        Assert.assertEquals(10, avl.height());
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSorted_UnsortedInput_ShouldThrow() {
+        AVL.fromSorted(List.of(1, 3, 2).iterator());
+    }
+
+    @Test
+    public void join_TreesOfDifferentHeights_ShouldStayBalanced() {
+        // Arrange
+        AVL<Integer> left = new AVL<>();
+        for (int i = 0; i < 1000; i++) {
+            left.insert(i);
+        }
+        AVL<Integer> right = new AVL<>();
+        right.insert(2000);
+        right.insert(2001);
+
+        // Act
+        AVL<Integer> joined = AVL.join(left, 1500, right);
+
+        // Assert
+        Assert.assertEquals(1003, joined.size());
+        Assert.assertEquals(1000, joined.rank(1500));
+        Assert.assertNull(left.getRoot());
+        Assert.assertNull(right.getRoot());
+        assertValid(joined.getRoot(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void join_OverlappingTrees_ShouldThrow() {
+        AVL<Integer> left = new AVL<>();
+        left.insert(5);
+        AVL<Integer> right = new AVL<>();
+        right.insert(6);
+
+        AVL.join(left, 4, right);
+    }
+
+    @Test
+    public void split_ShouldPartitionAroundItem() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(100000);
+            avl.insert(value);
+            expected.add(value);
+        }
+        int pivot = expected.higher(50000);
+
+        // Act
+        AVL<Integer> greater = avl.split(pivot);
+
+        // Assert
+        List<Integer> lower = new ArrayList<>();
+        avl.eachInOrder(lower::add);
+        List<Integer> upper = new ArrayList<>();
+        greater.eachInOrder(upper::add);
+        Assert.assertEquals(new ArrayList<>(expected.headSet(pivot)), lower);
+        Assert.assertEquals(new ArrayList<>(expected.tailSet(pivot)), upper);
+        assertValid(avl.getRoot(), null);
+        assertValid(greater.getRoot(), null);
+    }
+
+    // STREAMS
+
+    @Test
+    public void stream_ShouldSupportEarlyExit() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < 100; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        List<Integer> firstFive = avl.stream().limit(5).collect(Collectors.toList());
+
+        // Assert
+        Assert.assertEquals(List.of(0, 1, 2, 3, 4), firstFive);
+    }
+
+    @Test
+    public void spliterator_Split_ShouldProduceExactlySizedOrderedHalves() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < 101; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        Spliterator<Integer> suffix = avl.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        // Assert
+        Assert.assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.SORTED));
+        Assert.assertEquals(50, prefix.getExactSizeIfKnown());
+        Assert.assertEquals(51, suffix.getExactSizeIfKnown());
+        List<Integer> first = new ArrayList<>();
+        prefix.forEachRemaining(first::add);
+        List<Integer> second = new ArrayList<>();
+        suffix.forEachRemaining(second::add);
+        Assert.assertEquals(Integer.valueOf(49), first.get(first.size() - 1));
+        Assert.assertEquals(Integer.valueOf(50), second.get(0));
+        Assert.assertEquals(51, second.size());
+    }
+
+    @Test
+    public void parallelStream_ShouldMatchSequentialReduction() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100000; i++) {
+            avl.insert(random.nextInt(1000000));
+        }
+
+        // Act
+        long parallelSum = avl.parallelStream().mapToLong(Integer::longValue).sum();
+        List<Integer> parallelList = avl.parallelStream().collect(Collectors.toList());
+
+        // Assert
+        long sum = 0;
+        for (int value : avl) {
+            sum += value;
+        }
+        Assert.assertEquals(sum, parallelSum);
+        Assert.assertEquals(avl.stream().collect(Collectors.toList()), parallelList);
+        Assert.assertEquals(avl.size(), parallelList.size());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterator_InsertDuringIteration_ShouldThrow() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < 10; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        for (int value : avl) {
+            if (value == 3) {
+                avl.insert(100);
+            }
+        }
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void spliterator_DeleteDuringTraversal_ShouldThrow() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 0; i < 10; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        avl.spliterator().forEachRemaining(value -> avl.delete(9 - value));
+    }
+
+    // MULTISET
+
+    @Test
+    public void multiset_ShouldCountDuplicatesInOneNode() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>(true);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            avl.insert(i % 10);
+        }
+
+        // Assert
+        Assert.assertEquals(1000, avl.size());
+        Assert.assertEquals(100, avl.count(3));
+        Assert.assertEquals(0, avl.count(10));
+        Assert.assertEquals(4, avl.height());
+        Assert.assertEquals(300, avl.rank(3));
+        Assert.assertEquals(Integer.valueOf(3), avl.select(399));
+        Assert.assertEquals(Integer.valueOf(4), avl.select(400));
+        Assert.assertEquals(200, avl.countInRange(3, 4));
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test
+    public void multiset_RemoveOneAndDelete() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>(true);
+        avl.insert(1);
+        avl.insert(2);
+        avl.insert(2);
+        avl.insert(3);
+        avl.insert(3);
+
+        // Act
+        avl.removeOne(2);
+        avl.delete(3);
+        avl.deleteMin();
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(List.of(2), nodes);
+        Assert.assertEquals(1, avl.size());
+        Assert.assertFalse(avl.contains(3));
+    }
+
+    @Test
+    public void multiset_Streams_ShouldRepeatOccurrences() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>(true);
+        Random random = new Random(13);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(50);
+            avl.insert(value);
+            expected.add(value);
+        }
+        expected.sort(null);
+
+        // Act
+        List<Integer> result = avl.parallelStream().collect(Collectors.toList());
+
+        // Assert
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals(5000, avl.spliterator().trySplit().getExactSizeIfKnown());
+        Assert.assertFalse(avl.spliterator().hasCharacteristics(Spliterator.DISTINCT));
+    }
+
+    @Test
+    public void multiset_FromSorted_ShouldGroupDuplicates() {
+        // Arrange
+        // Act
+        AVL<Integer> avl = AVL.fromSorted(List.of(1, 1, 2, 3, 3, 3).iterator(), true);
+
+        // Assert
+        Assert.assertEquals(6, avl.size());
+        Assert.assertEquals(3, avl.count(3));
+        Assert.assertEquals(2, avl.height());
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSorted_DuplicatesInSetMode_ShouldThrow() {
+        AVL.fromSorted(List.of(1, 1).iterator());
+    }
+
+    // NAVIGATION
+
+    @Test
+    public void floorCeilingLowerHigher_ShouldFindNeighbours() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        for (int i = 10; i <= 50; i += 10) {
+            avl.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(Integer.valueOf(20), avl.floor(25));
+        Assert.assertEquals(Integer.valueOf(20), avl.floor(20));
+        Assert.assertEquals(Integer.valueOf(30), avl.ceiling(25));
+        Assert.assertEquals(Integer.valueOf(10), avl.lower(20));
+        Assert.assertEquals(Integer.valueOf(30), avl.higher(20));
+        Assert.assertNull(avl.lower(10));
+        Assert.assertNull(avl.higher(50));
+        Assert.assertNull(avl.floor(5));
+    }
+
+    // FINGER
+
+    @Test
+    public void finger_SortedAndReverseRuns_ShouldBuildValidTree() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        AVL<Integer>.Finger finger = avl.finger();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            finger.insert(i);
+        }
+        for (int i = -1; i >= -1000; i--) {
+            finger.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(2000, avl.size());
+        Assert.assertEquals(Integer.valueOf(-1000), avl.select(0));
+        Assert.assertEquals(Integer.valueOf(999), avl.select(1999));
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test
+    public void finger_RandomInsertsMixedWithTreeChanges_ShouldMatchTreeSet() {
+        // Arrange
+        Random random = new Random(12);
+        AVL<Integer> avl = new AVL<>();
+        AVL<Integer>.Finger finger = avl.finger();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(2000);
+            if (i % 7 == 0) {
+                avl.delete(value);
+                expected.remove(value);
+            } else if (i % 11 == 0) {
+                avl.insert(value);
+                expected.add(value);
+            } else {
+                finger.insert(value);
+                expected.add(value);
+            }
+        }
+
+        // Assert
+        Assert.assertEquals(new ArrayList<>(expected), avl.stream().collect(Collectors.toList()));
+        assertValid(avl.getRoot(), null);
+    }
+
+    @Test
+    public void finger_MultisetDuplicates_ShouldBeCounted() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>(true);
+        AVL<Integer>.Finger finger = avl.finger();
+
+        // Act
+        for (int value : new int[] {5, 5, 6, 4, 6, 5, 9, 1}) {
+            finger.insert(value);
+        }
+
+        // Assert
+        Assert.assertEquals(8, avl.size());
+        Assert.assertEquals(3, avl.count(5));
+        Assert.assertEquals(2, avl.count(6));
+        assertValid(avl.getRoot(), null);
+    }
+
+    private static int assertValid(Node<Integer> node, Node<Integer> parent) {
+        if (node == null) {
+            return 0;
+        }
+
+        Assert.assertSame(parent, node.parent);
+        int left = assertValid(node.left, node);
+        int right = assertValid(node.right, node);
+        Assert.assertTrue(Math.abs(left - right) <= 1);
+        Assert.assertEquals(Math.max(left, right) + 1, node.height);
+        int leftSize = node.left == null ? 0 : node.left.size;
+        int rightSize = node.right == null ? 0 : node.right.size;
+        Assert.assertEquals(leftSize + rightSize + node.count, node.size);
+        return node.height;
+    }
 }
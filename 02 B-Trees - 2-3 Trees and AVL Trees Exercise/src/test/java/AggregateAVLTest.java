@@ -0,0 +1,119 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+public class AggregateAVLTest {
+
+    @Test
+    public void aggregate_Sum_ShouldMatchBruteForceAfterUpdates() {
+        // Arrange
+        AggregateAVL<Integer, Long> avl = new AggregateAVL<>(Aggregator.sum(Integer::longValue));
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(5000);
+            if (random.nextInt(4) == 0) {
+                avl.delete(value);
+                expected.remove(value);
+            } else {
+                avl.insert(value);
+                expected.add(value);
+            }
+        }
+
+        // Act
+        // Assert
+        for (int i = 0; i < 500; i++) {
+            int lo = random.nextInt(5000);
+            int hi = lo + random.nextInt(1000);
+            long sum = expected.subSet(lo, true, hi, true).stream().mapToLong(Integer::longValue).sum();
+            Assert.assertEquals(Long.valueOf(sum), avl.aggregate(lo, hi));
+        }
+        Assert.assertEquals(Long.valueOf(expected.stream().mapToLong(Integer::longValue).sum()), avl.aggregate());
+    }
+
+    @Test
+    public void aggregate_MinMaxAndEmptyRange() {
+        // Arrange
+        AggregateAVL<Integer, Integer> max = new AggregateAVL<>(Aggregator.<Integer, Integer>max(value -> value % 7));
+        AggregateAVL<Integer, Integer> min = new AggregateAVL<>(Aggregator.<Integer, Integer>min(value -> value));
+        for (int i = 10; i <= 20; i++) {
+            max.insert(i);
+            min.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(Integer.valueOf(6), max.aggregate(10, 14));
+        Assert.assertEquals(Integer.valueOf(5), max.aggregate(15, 19));
+        Assert.assertEquals(Integer.valueOf(13), min.aggregate(13, 100));
+        Assert.assertNull(min.aggregate(21, 30));
+        Assert.assertNull(min.aggregate(15, 12));
+    }
+
+    @Test
+    public void aggregate_NonCommutativeCombine_ShouldKeepKeyOrder() {
+        // Arrange
+        Aggregator<String, String> concat = Aggregator.of("", value -> value, String::concat);
+        AggregateAVL<String, String> avl = new AggregateAVL<>(concat);
+        for (String letter : "qwertyuiopasdfghjklzxcvbnm".split("")) {
+            avl.insert(letter);
+        }
+
+        // Act
+        avl.delete("m");
+
+        // Assert
+        Assert.assertEquals("abcdefghijklnopqrstuvwxyz", avl.aggregate());
+        Assert.assertEquals("cdefg", avl.aggregate("c", "g"));
+    }
+
+    @Test
+    public void aggregate_AfterBulkBuildAndSplit_ShouldStayConsistent() {
+        // Arrange
+        AggregateAVL<Integer, Long> avl = AggregateAVL.fromSorted(Aggregator.count(),
+                IntStream.range(0, 1000).iterator());
+
+        // Act
+        AggregateAVL<Integer, Long> upper = avl.split(600);
+
+        // Assert
+        Assert.assertEquals(Long.valueOf(600), avl.aggregate());
+        Assert.assertEquals(Long.valueOf(400), upper.aggregate());
+        Assert.assertEquals(Long.valueOf(11), upper.aggregate(700, 710));
+    }
+
+    @Test
+    public void join_AggregateTrees_ShouldKeepTheAggregateApi() {
+        // Arrange
+        AggregateAVL<Integer, Long> left = AggregateAVL.fromSorted(Aggregator.count(), IntStream.range(0, 10).iterator());
+        AggregateAVL<Integer, Long> right = AggregateAVL.fromSorted(Aggregator.count(), IntStream.range(11, 21).iterator());
+
+        // Act
+        AggregateAVL<Integer, Long> joined = AggregateAVL.join(left, 10, right);
+
+        // Assert
+        Assert.assertEquals(Long.valueOf(21), joined.aggregate());
+        Assert.assertEquals(Long.valueOf(5), joined.aggregate(8, 12));
+        Assert.assertEquals(Long.valueOf(0), left.aggregate());
+    }
+
+    @Test
+    public void aggregate_Multiset_ShouldFoldEveryOccurrence() {
+        // Arrange
+        AggregateAVL<Integer, Long> avl = new AggregateAVL<>(Aggregator.sum(Integer::longValue), true);
+        for (int i = 0; i < 7; i++) {
+            avl.insert(10);
+        }
+        avl.insert(20);
+
+        // Act
+        avl.removeOne(10);
+
+        // Assert
+        Assert.assertEquals(Long.valueOf(80), avl.aggregate());
+        Assert.assertEquals(Long.valueOf(60), avl.aggregate(0, 15));
+    }
+}
@@ -0,0 +1,63 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Not picked up by the default surefire includes; run with -Dtest=BLinkTreeBenchmark.
+public class BLinkTreeBenchmark {
+
+    private static final int KEY_RANGE = 1 << 24;
+    private static final long MEASURE_MILLIS = 1000;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void insertThroughput_LockedBPlusTree_Vs_BLinkTree() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s %22s %18s%n", "threads", "locked BPlusTree ops/s", "BLinkTree ops/s");
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            BPlusTree<Integer, Integer> tree = new BPlusTree<>();
+            Object lock = new Object();
+            BLinkTree<Integer, Integer> blink = new BLinkTree<>();
+
+            long locked = measure(threads, key -> {
+                synchronized (lock) {
+                    tree.put(key, key);
+                }
+            });
+            long latched = measure(threads, key -> blink.put(key, key));
+
+            System.out.printf("%-8d %22d %18d%n", threads, locked, latched);
+        }
+    }
+
+    private static long measure(int threads, IntConsumer operation) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (running.get()) {
+                    operation.accept(random.nextInt(KEY_RANGE));
+                    done++;
+                }
+                operations.add(done);
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        Thread.sleep(MEASURE_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / MEASURE_MILLIS;
+    }
+}
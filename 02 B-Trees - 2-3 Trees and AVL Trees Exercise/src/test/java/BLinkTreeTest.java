@@ -0,0 +1,90 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BLinkTreeTest {
+
+    @Test
+    public void putGetRemove_SingleThread_ShouldMatchTreeMap() {
+        for (int order : new int[] {3, 4, 16}) {
+            // Arrange
+            BLinkTree<Integer, Integer> tree = new BLinkTree<>(order);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            Random random = new Random(order);
+
+            // Act
+            for (int i = 0; i < 50000; i++) {
+                int key = random.nextInt(5000);
+                if (random.nextInt(4) == 0) {
+                    Assert.assertEquals(expected.remove(key), tree.remove(key));
+                } else {
+                    Assert.assertEquals(expected.put(key, i), tree.put(key, i));
+                }
+            }
+
+            // Assert
+            Assert.assertEquals(expected.size(), tree.size());
+            for (int key = 0; key < 5000; key++) {
+                Assert.assertEquals(expected.get(key), tree.get(key));
+            }
+            List<Integer> keys = new ArrayList<>();
+            tree.rangeScan(100, 2000, (key, value) -> keys.add(key));
+            Assert.assertEquals(new ArrayList<>(expected.subMap(100, true, 2000, true).keySet()), keys);
+        }
+    }
+
+    @Test
+    public void put_ConcurrentWriters_ShouldKeepEveryKeyVisibleToReaders() throws InterruptedException {
+        // Arrange
+        BLinkTree<Integer, Integer> tree = new BLinkTree<>(4);
+        int threads = 4;
+        int perThread = 25000;
+        for (int i = 0; i < 1000; i++) {
+            tree.put(-1 - i, i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean readerFailed = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            Random random = new Random(5);
+            while (running.get()) {
+                if (!tree.containsKey(-1 - random.nextInt(1000))) {
+                    readerFailed.set(true);
+                }
+            }
+        });
+        List<Thread> writers = new ArrayList<>();
+
+        // Act
+        reader.start();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int key = i * threads + offset;
+                    tree.put(key, key);
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        running.set(false);
+        reader.join();
+
+        // Assert
+        Assert.assertFalse(readerFailed.get());
+        Assert.assertEquals(threads * perThread + 1000, tree.size());
+        List<Integer> keys = new ArrayList<>();
+        tree.rangeScan(0, Integer.MAX_VALUE, (key, value) -> keys.add(key));
+        Assert.assertEquals(threads * perThread, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(Integer.valueOf(i), keys.get(i));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class BPlusTreeTest {
+
+    @Test
+    public void putGetRemove_Random_ShouldMatchTreeMap() {
+        for (int order : new int[] {3, 4, 5, 8, BPlusTree.DEFAULT_ORDER}) {
+            // Arrange
+            BPlusTree<Integer, String> tree = new BPlusTree<>(order);
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            Random random = new Random(order);
+
+            // Act
+            for (int i = 0; i < 50000; i++) {
+                int key = random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    Assert.assertEquals(expected.remove(key), tree.remove(key));
+                } else {
+                    Assert.assertEquals(expected.put(key, "v" + i), tree.put(key, "v" + i));
+                }
+            }
+
+            // Assert
+            Assert.assertEquals(expected.size(), tree.size());
+            Assert.assertEquals(entries(expected), scan(tree, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            for (int key = 0; key < 5000; key++) {
+                Assert.assertEquals(expected.get(key), tree.get(key));
+                Assert.assertEquals(expected.containsKey(key), tree.containsKey(key));
+            }
+            int minFanout = (order + 1) / 2;
+            Assert.assertTrue(tree.height() <= 2 + Math.log(tree.size() + 1) / Math.log(minFanout));
+        }
+    }
+
+    @Test
+    public void rangeScan_ShouldVisitInclusiveRangeAcrossLeaves() {
+        // Arrange
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(4);
+        for (int i = 0; i < 1000; i += 2) {
+            tree.put(i, i * 10);
+        }
+
+        // Act
+        List<String> range = scan(tree, 101, 120);
+
+        // Assert
+        Assert.assertEquals(List.of("102=1020", "104=1040", "106=1060", "108=1080", "110=1100",
+                "112=1120", "114=1140", "116=1160", "118=1180", "120=1200"), range);
+        Assert.assertTrue(scan(tree, 5, 4).isEmpty());
+        Assert.assertTrue(scan(tree, 2000, 3000).isEmpty());
+    }
+
+    @Test
+    public void remove_All_ShouldShrinkToEmptyLeaf() {
+        // Arrange
+        BPlusTree<Integer, Integer> tree = new BPlusTree<>(3);
+        for (int i = 0; i < 500; i++) {
+            tree.put(i, i);
+        }
+
+        // Act
+        for (int i = 499; i >= 0; i--) {
+            Assert.assertEquals(Integer.valueOf(i), tree.remove(i));
+        }
+
+        // Assert
+        Assert.assertEquals(0, tree.size());
+        Assert.assertEquals(1, tree.height());
+        Assert.assertNull(tree.remove(7));
+        Assert.assertTrue(scan(tree, 0, 500).isEmpty());
+    }
+
+    @Test
+    public void fromSorted_AnyFillFactor_ShouldBuildValidTree() {
+        for (int order : new int[] {3, 4, 5, 16}) {
+            for (double fillFactor : new double[] {0.5, 0.7, 1.0}) {
+                for (int n : new int[] {0, 1, 2, order, order + 1, 1000, 12345}) {
+                    // Arrange
+                    TreeMap<Integer, String> expected = new TreeMap<>();
+                    for (int i = 0; i < n; i++) {
+                        expected.put(i * 2, "v" + i);
+                    }
+
+                    // Act
+                    BPlusTree<Integer, String> tree = BPlusTree.fromSorted(expected.entrySet().iterator(), order, fillFactor);
+
+                    // Assert
+                    Assert.assertEquals(n, tree.size());
+                    Assert.assertEquals(entries(expected), scan(tree, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                    int minFanout = (order + 1) / 2;
+                    Assert.assertTrue(tree.height() <= 2 + Math.log(n + 1) / Math.log(minFanout));
+
+                    // The loaded tree keeps working as an ordinary one.
+                    for (int i = 0; i < n; i += 3) {
+                        Assert.assertEquals(expected.remove(i * 2), tree.remove(i * 2));
+                        Assert.assertEquals(expected.put(i * 2 + 1, "w"), tree.put(i * 2 + 1, "w"));
+                    }
+                    Assert.assertEquals(entries(expected), scan(tree, Integer.MIN_VALUE, Integer.MAX_VALUE));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSorted_Unsorted_ShouldThrow() {
+        BPlusTree.fromSorted(List.of(Map.entry(2, 2), Map.entry(1, 1)).iterator(), 4, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_OrderBelowThree_ShouldThrow() {
+        new BPlusTree<Integer, Integer>(2);
+    }
+
+    private static <V> List<String> scan(BPlusTree<Integer, V> tree, int lo, int hi) {
+        List<String> entries = new ArrayList<>();
+        tree.rangeScan(lo, hi, (key, value) -> entries.add(key + "=" + value));
+        return entries;
+    }
+
+    private static <V> List<String> entries(Map<Integer, V> map) {
+        List<String> entries = new ArrayList<>();
+        map.forEach((key, value) -> entries.add(key + "=" + value));
+        return entries;
+    }
+}
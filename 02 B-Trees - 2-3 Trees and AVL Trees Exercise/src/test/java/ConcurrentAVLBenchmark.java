@@ -0,0 +1,85 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+// Not picked up by the default surefire includes; run with -Dtest=ConcurrentAVLBenchmark.
+public class ConcurrentAVLBenchmark {
+
+    private static final int KEY_RANGE = 1 << 20;
+    private static final int WRITE_PERCENT = 10;
+    private static final long MEASURE_MILLIS = 1000;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void throughput_ConcurrentAVL_Vs_LockedAVL() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s %18s %18s%n", "threads", "locked AVL ops/s", "ConcurrentAVL ops/s");
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            AVL<Integer> avl = new AVL<>();
+            Object lock = new Object();
+            ConcurrentAVL<Integer> concurrent = new ConcurrentAVL<>();
+            for (int i = 0; i < KEY_RANGE; i += 2) {
+                avl.insert(i);
+                concurrent.insert(i);
+            }
+
+            long locked = measure(threads, key -> {
+                synchronized (lock) {
+                    if (!isWrite(key)) {
+                        return avl.contains(key);
+                    }
+                    if ((key & 2) == 0) {
+                        avl.insert(key);
+                    } else {
+                        avl.delete(key);
+                    }
+                    return true;
+                }
+            });
+            long lockFree = measure(threads, key -> {
+                if (!isWrite(key)) {
+                    return concurrent.contains(key);
+                }
+                return (key & 2) == 0 ? concurrent.insert(key) : concurrent.delete(key);
+            });
+
+            System.out.printf("%-8d %18d %18d%n", threads, locked, lockFree);
+        }
+    }
+
+    private static boolean isWrite(int key) {
+        return Math.floorMod(key * 31, 100) < WRITE_PERCENT;
+    }
+
+    private static long measure(int threads, IntPredicate operation) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (running.get()) {
+                    operation.test(random.nextInt(KEY_RANGE));
+                    done++;
+                }
+                operations.add(done);
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        Thread.sleep(MEASURE_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / MEASURE_MILLIS;
+    }
+}
@@ -0,0 +1,96 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentAVLTest {
+
+    @Test
+    public void insertContainsDelete_SingleThread_ShouldMatchTreeSet() {
+        // Arrange
+        ConcurrentAVL<Integer> avl = new ConcurrentAVL<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(3);
+
+        // Act
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.add(value), avl.insert(value));
+            } else {
+                Assert.assertEquals(expected.remove(value), avl.delete(value));
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(expected.contains(i), avl.contains(i));
+        }
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(new ArrayList<>(expected), nodes);
+    }
+
+    @Test
+    public void eachInOrder_EmptyTree_ShouldVisitNothing() {
+        ConcurrentAVL<Integer> avl = new ConcurrentAVL<>();
+
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+
+        Assert.assertTrue(avl.isEmpty());
+        Assert.assertTrue(nodes.isEmpty());
+    }
+
+    @Test
+    public void insertAndDelete_ConcurrentWriters_ShouldKeepEveryOtherKey() throws InterruptedException {
+        // Arrange
+        ConcurrentAVL<Integer> avl = new ConcurrentAVL<>();
+        int threads = 4;
+        int perThread = 20000;
+        AtomicBoolean readerFailed = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    avl.insert(i * threads + offset);
+                }
+                for (int i = 0; i < perThread; i += 2) {
+                    avl.delete(i * threads + offset);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                int[] last = {Integer.MIN_VALUE};
+                avl.eachInOrder(value -> {
+                    if (value <= last[0]) {
+                        readerFailed.set(true);
+                    }
+                    last[0] = value;
+                });
+            }
+        });
+        workers.forEach(Thread::start);
+        reader.start();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        reader.join();
+
+        // Assert
+        Assert.assertFalse(readerFailed.get());
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                Assert.assertEquals(i % 2 == 1, avl.contains(i * threads + t));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+import main.ConcurrentHierarchy;
+import main.Hierarchy;
+import main.IHierarchy;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Not picked up by the default surefire includes; run with -Dtest=ConcurrentHierarchyBenchmark.
+public class ConcurrentHierarchyBenchmark {
+
+    private static final int ELEMENTS = 1 << 18;
+    private static final int FANOUT = 8;
+    private static final int WRITE_PER_MILLE = 5;
+    private static final long MEASURE_MILLIS = 1000;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void throughput_ConcurrentHierarchy_Vs_LockedHierarchy() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s %24s %24s%n", "threads", "locked Hierarchy ops/s", "ConcurrentHierarchy ops/s");
+        for (int threads = 1; threads <= Math.max(8, cores); threads *= 2) {
+            Hierarchy<Integer> hierarchy = build(new Hierarchy<>(0));
+            ConcurrentHierarchy<Integer> concurrent = build(new ConcurrentHierarchy<>(0));
+            Object lock = new Object();
+
+            AtomicInteger lockedLeaves = new AtomicInteger();
+            long locked = measure(threads, key -> {
+                synchronized (lock) {
+                    operate(hierarchy, key, lockedLeaves);
+                }
+            });
+            AtomicInteger lockFreeLeaves = new AtomicInteger();
+            long lockFree = measure(threads, key -> operate(concurrent, key, lockFreeLeaves));
+
+            System.out.printf("%-8d %24d %24d%n", threads, locked, lockFree);
+        }
+    }
+
+    private static <H extends IHierarchy<Integer>> H build(H hierarchy) {
+        for (int i = 1; i < ELEMENTS; i++) {
+            hierarchy.add((i - 1) / FANOUT, i);
+        }
+        return hierarchy;
+    }
+
+    // Mostly getParent and getChildren; the rare write adds a fresh leaf and removes it again.
+    private static void operate(IHierarchy<Integer> hierarchy, int key, AtomicInteger leaves) {
+        if (key % 1000 < WRITE_PER_MILLE) {
+            int leaf = -1 - leaves.getAndIncrement();
+            hierarchy.add(key, leaf);
+            hierarchy.remove(leaf);
+        } else if ((key & 1) == 0) {
+            hierarchy.getParent(key);
+        } else {
+            hierarchy.getChildren(key);
+        }
+    }
+
+    private static long measure(int threads, IntConsumer operation) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                while (running.get()) {
+                    operation.accept(random.nextInt(ELEMENTS));
+                    done++;
+                }
+                operations.add(done);
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        Thread.sleep(MEASURE_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / MEASURE_MILLIS;
+    }
+}
@@ -0,0 +1,170 @@
+import main.ConcurrentHierarchy;
+import main.Hierarchy;
+import main.IHierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+public class ConcurrentHierarchyTest {
+
+    @Test
+    public void addRemoveAndQueries_SingleThread_ShouldMatchHierarchy() {
+        // Arrange
+        ConcurrentHierarchy<Integer> concurrent = new ConcurrentHierarchy<>(0);
+        Hierarchy<Integer> expected = new Hierarchy<>(0);
+        List<Integer> present = new ArrayList<>(List.of(0));
+        Random random = new Random(23);
+
+        // Act
+        for (int i = 1; i < 20000; i++) {
+            if (present.size() > 1 && random.nextInt(4) == 0) {
+                int element = present.remove(1 + random.nextInt(present.size() - 1));
+                concurrent.remove(element);
+                expected.remove(element);
+            } else if (present.size() > 1 && random.nextInt(4) == 0) {
+                int element = present.get(1 + random.nextInt(present.size() - 1));
+                int parent = present.get(random.nextInt(present.size()));
+                if (!expected.isAncestor(element, parent) && element != parent) {
+                    concurrent.move(element, parent);
+                    expected.move(element, parent);
+                }
+            } else {
+                int parent = present.get(random.nextInt(present.size()));
+                concurrent.add(parent, i);
+                expected.add(parent, i);
+                present.add(i);
+            }
+        }
+
+        // Assert
+        Assert.assertEquals(expected.getCount(), concurrent.getCount());
+        Assert.assertEquals(toList(expected), toList(concurrent));
+        for (int i = 0; i < 500; i++) {
+            int a = present.get(random.nextInt(present.size()));
+            int b = present.get(random.nextInt(present.size()));
+            Assert.assertEquals(expected.getParent(a), concurrent.getParent(a));
+            Assert.assertEquals(toList(expected.getChildren(a)), toList(concurrent.getChildren(a)));
+            Assert.assertEquals(expected.depth(a), concurrent.depth(a));
+            Assert.assertEquals(expected.subtreeSize(a), concurrent.subtreeSize(a));
+            Assert.assertEquals(toList(expected.descendants(a)), toList(concurrent.descendants(a)));
+            Assert.assertEquals(expected.isAncestor(a, b), concurrent.isAncestor(a, b));
+            Assert.assertEquals(expected.getLowestCommonAncestor(a, b), concurrent.getLowestCommonAncestor(a, b));
+            Assert.assertEquals(expected.distance(a, b), concurrent.distance(a, b));
+        }
+        Assert.assertEquals(flatten(expected), flatten(concurrent));
+    }
+
+    @Test
+    public void parallelStream_WideAndDeepHierarchy_ShouldSplitAndVisitEveryElementOnce() {
+        // Arrange
+        ConcurrentHierarchy<Integer> hierarchy = new ConcurrentHierarchy<>(0);
+        for (int i = 1; i <= 20000; i++) {
+            hierarchy.add(i % 7 == 0 ? i - 1 : (i - 1) / 4, i);
+        }
+
+        // Act
+        Spliterator<Integer> spliterator = hierarchy.spliterator();
+        Spliterator<Integer> split = spliterator.trySplit();
+        List<Integer> streamed = hierarchy.parallelStream().sorted().collect(Collectors.toList());
+
+        // Assert
+        Assert.assertNotNull(split);
+        Assert.assertEquals(flatten(hierarchy), streamed);
+        Assert.assertEquals(toList(hierarchy.descendants(0)), hierarchy.stream().skip(1).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_ExistingChild_ShouldThrow() {
+        ConcurrentHierarchy<Integer> hierarchy = new ConcurrentHierarchy<>(5);
+        hierarchy.add(5, 6);
+        hierarchy.add(5, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void move_UnderOwnDescendant_ShouldThrow() {
+        ConcurrentHierarchy<Integer> hierarchy = new ConcurrentHierarchy<>(5);
+        hierarchy.add(5, 6);
+        hierarchy.add(6, 7);
+        hierarchy.move(6, 7);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void remove_Root_ShouldThrow() {
+        new ConcurrentHierarchy<>(5).remove(5);
+    }
+
+    @Test
+    public void readers_WhileWritersAddAndRemoveLeaves_ShouldAlwaysSeeStableSkeleton() throws InterruptedException {
+        // Arrange
+        ConcurrentHierarchy<Integer> hierarchy = new ConcurrentHierarchy<>(0);
+        for (int i = 1; i <= 1000; i++) {
+            hierarchy.add((i - 1) / 10, i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean readerFailed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 2; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    int leaf = -1 - (i * 2 + offset);
+                    hierarchy.add(1 + i % 1000, leaf);
+                    if (i % 3 != 0) {
+                        hierarchy.remove(leaf);
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                Random random = new Random();
+                while (running.get()) {
+                    int element = 1 + random.nextInt(1000);
+                    if (hierarchy.getParent(element) != (element - 1) / 10
+                            || !hierarchy.isAncestor(0, element)
+                            || hierarchy.depth(element) > 3) {
+                        readerFailed.set(true);
+                    }
+                    for (int child : hierarchy.getChildren(element)) {
+                        if (child >= 0 && (child - 1) / 10 != element) {
+                            readerFailed.set(true);
+                        }
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        threads.get(0).join();
+        threads.get(1).join();
+        running.set(false);
+        threads.get(2).join();
+        threads.get(3).join();
+
+        // Assert
+        Assert.assertFalse(readerFailed.get());
+        Assert.assertEquals(1001 + 2 * 6667, hierarchy.getCount());
+        Assert.assertEquals(hierarchy.getCount(), flatten(hierarchy).size());
+    }
+
+    private static List<Integer> toList(Iterable<Integer> iterable) {
+        List<Integer> result = new ArrayList<>();
+        iterable.forEach(result::add);
+        return result;
+    }
+
+    private static List<Integer> flatten(IHierarchy<Integer> hierarchy) {
+        List<Integer> result = new ArrayList<>();
+        hierarchy.levels().forEach(result::addAll);
+        Collections.sort(result);
+        return result;
+    }
+}
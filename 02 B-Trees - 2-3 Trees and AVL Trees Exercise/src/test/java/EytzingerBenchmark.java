@@ -0,0 +1,59 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+// Not picked up by the default surefire includes; run with -Dtest=EytzingerBenchmark.
+public class EytzingerBenchmark {
+
+    private static final int ENTRIES = 1 << 21;
+    private static final int LOOKUPS = 5_000_000;
+    private static final int ROUNDS = 5;
+
+    // Keeps the JIT from discarding lookups whose results are never used.
+    private static int found;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void lookupThroughput_LiveTrees_Vs_Snapshots() {
+        AVL<Integer> avl = new AVL<>();
+        IntAVL intAvl = new IntAVL(ENTRIES);
+        Random random = new Random(18);
+        for (int i = 0; i < ENTRIES; i++) {
+            int key = random.nextInt(ENTRIES * 4);
+            avl.insert(key);
+            intAvl.insert(key);
+        }
+        EytzingerSnapshot<Integer> snapshot = avl.freeze();
+        IntEytzingerSnapshot intSnapshot = intAvl.freeze();
+
+        int[] probes = new int[LOOKUPS];
+        Integer[] boxed = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = random.nextInt(ENTRIES * 4);
+            boxed[i] = probes[i];
+        }
+
+        System.out.printf("%-24s %16s%n", "structure", "lookups/s");
+        report("AVL.contains", i -> avl.contains(boxed[i]));
+        report("EytzingerSnapshot", i -> snapshot.contains(boxed[i]));
+        report("IntAVL.contains", i -> intAvl.contains(probes[i]));
+        report("IntEytzingerSnapshot", i -> intSnapshot.contains(probes[i]));
+    }
+
+    private static void report(String name, IntPredicate lookup) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (lookup.test(i)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-24s %16d%n", name, LOOKUPS * 1_000_000_000L / best);
+    }
+}
@@ -0,0 +1,87 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class EytzingerSnapshotTest {
+
+    @Test
+    public void floorCeilingContains_EverySize_ShouldMatchTreeSet() {
+        Random random = new Random(18);
+        for (int size = 0; size <= 70; size++) {
+            // Arrange
+            TreeSet<Integer> expected = new TreeSet<>();
+            while (expected.size() < size) {
+                expected.add(random.nextInt(400));
+            }
+
+            // Act
+            EytzingerSnapshot<Integer> snapshot = EytzingerSnapshot.fromSorted(expected.iterator());
+
+            // Assert
+            Assert.assertEquals(size, snapshot.size());
+            for (int probe = -1; probe <= 401; probe++) {
+                Assert.assertEquals(expected.contains(probe), snapshot.contains(probe));
+                Assert.assertEquals(expected.ceiling(probe), snapshot.ceiling(probe));
+                Assert.assertEquals(expected.floor(probe), snapshot.floor(probe));
+            }
+        }
+    }
+
+    @Test
+    public void freeze_AVLAndTwoThreeTreeAndIntAVL_ShouldHoldTheirKeys() {
+        // Arrange
+        AVL<Integer> avl = new AVL<>();
+        IntAVL intAvl = new IntAVL();
+        for (int i = 0; i < 1000; i += 3) {
+            avl.insert(i);
+            intAvl.insert(i);
+        }
+        TwoThreeTree<Integer> twoThree = TwoThreeTree.fromSorted(List.of(2, 4, 6, 8, 10, 12).iterator());
+
+        // Act
+        EytzingerSnapshot<Integer> fromAvl = avl.freeze();
+        IntEytzingerSnapshot fromIntAvl = intAvl.freeze();
+        EytzingerSnapshot<Integer> fromTwoThree = twoThree.freeze();
+        avl.insert(1);
+
+        // Assert
+        Assert.assertEquals(334, fromAvl.size());
+        Assert.assertEquals(334, fromIntAvl.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i % 3 == 0, fromAvl.contains(i));
+            Assert.assertEquals(i % 3 == 0, fromIntAvl.contains(i));
+        }
+        Assert.assertEquals(6, fromTwoThree.size());
+        Assert.assertEquals(Integer.valueOf(8), fromTwoThree.ceiling(7));
+        Assert.assertEquals(Integer.valueOf(6), fromTwoThree.floor(7));
+    }
+
+    @Test
+    public void freeze_LongAVLBeyondIntRange_ShouldHoldItsKeys() {
+        // Arrange
+        LongAVL tree = new LongAVL();
+        long base = 1L << 40;
+        for (long i = -500; i < 500; i += 2) {
+            tree.insert(base * i);
+        }
+
+        // Act
+        LongEytzingerSnapshot snapshot = tree.freeze();
+        tree.insert(base);
+
+        // Assert
+        Assert.assertEquals(500, snapshot.size());
+        for (long i = -501; i < 500; i++) {
+            Assert.assertEquals(i % 2 == 0, snapshot.contains(base * i));
+            Assert.assertFalse(snapshot.contains(base * i + 1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSorted_Unsorted_ShouldThrow() {
+        EytzingerSnapshot.fromSorted(List.of(2, 1).iterator());
+    }
+}
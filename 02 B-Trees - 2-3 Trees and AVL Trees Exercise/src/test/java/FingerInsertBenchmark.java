@@ -0,0 +1,82 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Not picked up by the default surefire includes; run with -Dtest=FingerInsertBenchmark.
+public class FingerInsertBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void insert_Vs_FingerInsert() {
+        int[] sorted = new int[ENTRIES];
+        int[] reverse = new int[ENTRIES];
+        int[] nearlySorted = new int[ENTRIES];
+        int[] random = new int[ENTRIES];
+        Random rng = new Random(42);
+        for (int i = 0; i < ENTRIES; i++) {
+            sorted[i] = i;
+            reverse[i] = ENTRIES - i;
+            nearlySorted[i] = i + rng.nextInt(16);
+            random[i] = rng.nextInt();
+        }
+
+        System.out.printf("%-14s %14s %14s %14s %14s%n",
+                "input", "insert ms", "finger ms", "insert cmp/op", "finger cmp/op");
+        report("sorted", sorted);
+        report("reverse", reverse);
+        report("nearly sorted", nearlySorted);
+        report("random", random);
+    }
+
+    private static void report(String name, int[] input) {
+        Key[] keys = new Key[input.length];
+        for (int i = 0; i < input.length; i++) {
+            keys[i] = new Key(input[i]);
+        }
+
+        long plain = time(keys, avl -> avl::insert);
+        double plainCompares = Key.compares / (double) keys.length;
+        long finger = time(keys, avl -> avl.finger()::insert);
+        double fingerCompares = Key.compares / (double) keys.length;
+
+        System.out.printf("%-14s %14d %14d %14.1f %14.1f%n",
+                name, plain, finger, plainCompares, fingerCompares);
+    }
+
+    private static long time(Key[] keys, Function<AVL<Key>, Consumer<Key>> inserter) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            AVL<Key> avl = new AVL<>();
+            Consumer<Key> insert = inserter.apply(avl);
+            Key.compares = 0;
+            long start = System.nanoTime();
+            for (Key key : keys) {
+                insert.accept(key);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+
+    private static final class Key implements Comparable<Key> {
+        private static long compares;
+        private final int value;
+
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            compares++;
+            return Integer.compare(this.value, other.value);
+        }
+    }
+}
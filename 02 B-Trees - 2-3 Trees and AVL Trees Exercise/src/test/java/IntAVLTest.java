@@ -0,0 +1,80 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class IntAVLTest {
+
+    @Test
+    public void insertAndDelete_Random_ShouldMatchTreeSet() {
+        // Arrange
+        IntAVL avl = new IntAVL();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(11);
+
+        // Act
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(10000) - 5000;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(value), avl.delete(value));
+            } else {
+                Assert.assertEquals(expected.add(value), avl.insert(value));
+            }
+        }
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(new ArrayList<>(expected), nodes);
+        Assert.assertEquals(expected.size(), avl.size());
+        Assert.assertTrue(avl.height() <= 1.45 * (Math.log(expected.size() + 2) / Math.log(2)));
+    }
+
+    @Test
+    public void insert_SortedSequence_ShouldStayBalanced() {
+        // Arrange
+        IntAVL avl = new IntAVL();
+
+        // Act
+        for (int i = 1; i < 10; i++) {
+            avl.insert(i);
+        }
+
+        // Assert
+        Assert.assertEquals(4, avl.height());
+        Assert.assertTrue(avl.contains(9));
+        Assert.assertFalse(avl.contains(10));
+    }
+
+    @Test
+    public void deleteMinAndMax_ShouldRemoveExtremes() {
+        // Arrange
+        IntAVL avl = new IntAVL();
+        for (int i = 1; i <= 5; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        avl.deleteMin();
+        avl.deleteMax();
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(List.of(2, 3, 4), nodes);
+    }
+
+    @Test
+    public void deleteMin_EmptyTree_ShouldDoNothing() {
+        IntAVL avl = new IntAVL();
+
+        avl.deleteMin();
+        avl.deleteMax();
+
+        Assert.assertEquals(0, avl.size());
+        Assert.assertEquals(0, avl.height());
+    }
+}
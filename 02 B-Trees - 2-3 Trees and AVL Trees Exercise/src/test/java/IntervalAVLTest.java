@@ -0,0 +1,85 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IntervalAVLTest {
+
+    @Test
+    public void stab_ShouldReturnIntervalsContainingPointInOrder() {
+        // Arrange
+        IntervalAVL<Integer> tree = new IntervalAVL<>();
+        tree.insert(1, 5);
+        tree.insert(3, 8);
+        tree.insert(6, 7);
+        tree.insert(9, 12);
+        tree.insert(2, 10);
+
+        // Act
+        List<Interval<Integer>> result = tree.stab(7);
+
+        // Assert
+        Assert.assertEquals(List.of(new Interval<>(2, 10), new Interval<>(3, 8), new Interval<>(6, 7)), result);
+        Assert.assertTrue(tree.stab(13).isEmpty());
+    }
+
+    @Test
+    public void overlapping_Random_ShouldMatchLinearScan() {
+        // Arrange
+        IntervalAVL<Integer> tree = new IntervalAVL<>();
+        List<Interval<Integer>> all = new ArrayList<>();
+        Random random = new Random(29);
+        for (int i = 0; i < 5000; i++) {
+            int start = random.nextInt(100000);
+            Interval<Integer> interval = new Interval<>(start, start + random.nextInt(500));
+            tree.insert(interval);
+            all.add(interval);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Interval<Integer> removed = all.remove(random.nextInt(all.size()));
+            tree.removeOne(removed);
+        }
+        all.sort(null);
+
+        // Act
+        // Assert
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(100000);
+            int to = from + random.nextInt(300);
+            List<Interval<Integer>> expected = new ArrayList<>();
+            for (Interval<Integer> interval : all) {
+                if (interval.overlaps(from, to)) {
+                    expected.add(interval);
+                }
+            }
+            Assert.assertEquals(expected, tree.overlapping(from, to));
+        }
+    }
+
+    @Test
+    public void insert_DuplicateIntervals_ShouldKeepEveryOccurrence() {
+        // Arrange
+        IntervalAVL<Integer> tree = new IntervalAVL<>();
+        tree.insert(9, 10);
+        tree.insert(9, 10);
+        tree.insert(9, 10);
+        tree.insert(8, 11);
+
+        // Act
+        tree.removeOne(new Interval<>(9, 10));
+
+        // Assert
+        Assert.assertEquals(3, tree.size());
+        Assert.assertEquals(2, tree.count(new Interval<>(9, 10)));
+        Assert.assertEquals(List.of(new Interval<>(8, 11), new Interval<>(9, 10), new Interval<>(9, 10)),
+                tree.stab(10));
+        Assert.assertEquals(Integer.valueOf(11), tree.aggregate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insert_InvertedInterval_ShouldThrow() {
+        new IntervalAVL<Integer>().insert(5, 1);
+    }
+}
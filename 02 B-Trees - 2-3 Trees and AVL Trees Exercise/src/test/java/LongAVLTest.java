@@ -0,0 +1,33 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LongAVLTest {
+
+    @Test
+    public void insertAndDelete_LargeKeys_ShouldKeepOrder() {
+        // Arrange
+        LongAVL avl = new LongAVL(4);
+        long base = 1L << 40;
+        for (long i = 0; i < 1000; i++) {
+            avl.insert(base + i * 7);
+        }
+
+        // Act
+        for (long i = 0; i < 1000; i += 2) {
+            avl.delete(base + i * 7);
+        }
+        avl.insert(base + 3);
+
+        // Assert
+        List<Long> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(501, avl.size());
+        Assert.assertEquals(Long.valueOf(base + 3), nodes.get(0));
+        Assert.assertEquals(Long.valueOf(base + 7), nodes.get(1));
+        Assert.assertTrue(avl.contains(base + 999 * 7));
+        Assert.assertFalse(avl.contains(base));
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class MappedBTreeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void insertAndSearch_SmallPagesAndCache_ShouldMatchTreeMap() throws IOException {
+        // Arrange
+        Path file = folder.newFile().toPath();
+        TreeMap<Integer, Long> expected = new TreeMap<>();
+        Random random = new Random(14);
+
+        // Act
+        try (MappedBTree<Integer, Long> tree = new MappedBTree<>(file, PageCodec.INT, PageCodec.LONG, 64, 2)) {
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(50000);
+                tree.insert(key, (long) i);
+                expected.put(key, (long) i);
+            }
+
+            // Assert
+            Assert.assertEquals(expected.size(), tree.size());
+            for (int key = 0; key < 50000; key += 7) {
+                Assert.assertEquals(expected.get(key), tree.search(key));
+            }
+            Assert.assertEquals(new ArrayList<>(expected.subMap(100, true, 900, true).keySet()),
+                    keys(tree, 100, 900));
+        }
+    }
+
+    @Test
+    public void reopen_ShouldSeePreviouslyInsertedEntries() throws IOException {
+        // Arrange
+        Path file = folder.newFile().toPath();
+        try (MappedBTree<Long, Integer> tree = new MappedBTree<>(file, PageCodec.LONG, PageCodec.INT)) {
+            for (int i = 0; i < 100000; i++) {
+                tree.insert((long) i * 3, i);
+            }
+        }
+
+        // Act
+        try (MappedBTree<Long, Integer> tree = new MappedBTree<>(file, PageCodec.LONG, PageCodec.INT)) {
+            tree.insert(1L, -1);
+
+            // Assert
+            Assert.assertEquals(100001, tree.size());
+            Assert.assertEquals(Integer.valueOf(33333), tree.search(99999L));
+            Assert.assertEquals(Integer.valueOf(-1), tree.search(1L));
+            Assert.assertNull(tree.search(2L));
+        }
+    }
+
+    @Test
+    public void utf8Keys_ShouldScanInStringOrder() throws IOException {
+        // Arrange
+        Path file = folder.newFile().toPath();
+        try (MappedBTree<String, Integer> tree = new MappedBTree<>(file, PageCodec.utf8(32), PageCodec.INT, 256, 4)) {
+            String[] words = {"pear", "apple", "fig", "banana", "cherry", "kiwi", "date", "grape", "lemon"};
+            for (int i = 0; i < words.length; i++) {
+                tree.insert(words[i], i);
+            }
+
+            // Act
+            List<String> scanned = new ArrayList<>();
+            tree.rangeScan("b", "g", (key, value) -> scanned.add(key));
+
+            // Assert
+            Assert.assertEquals(List.of("banana", "cherry", "date", "fig"), scanned);
+            Assert.assertEquals(Integer.valueOf(0), tree.search("pear"));
+        }
+    }
+
+    @Test
+    public void rangeScan_ConsumerSearchingTheTree_ShouldSeeEveryEntry() throws IOException {
+        // Arrange
+        Path file = folder.newFile().toPath();
+        try (MappedBTree<Integer, Long> tree = new MappedBTree<>(file, PageCodec.INT, PageCodec.LONG, 64, 2)) {
+            for (int i = 0; i < 200000; i++) {
+                tree.insert(i, (long) i * 2);
+            }
+            Random random = new Random(17);
+
+            // Act
+            List<Integer> scanned = new ArrayList<>();
+            tree.rangeScan(1000, 1999, (key, value) -> {
+                Assert.assertEquals(Long.valueOf(key * 2L), value);
+                Assert.assertNotNull(tree.search(random.nextInt(200000)));
+                scanned.add(key);
+            });
+
+            // Assert
+            Assert.assertEquals(1000, scanned.size());
+            for (int i = 0; i < scanned.size(); i++) {
+                Assert.assertEquals(Integer.valueOf(1000 + i), scanned.get(i));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reopen_WithDifferentCodecWidth_ShouldThrow() throws IOException {
+        Path file = folder.newFile().toPath();
+        new MappedBTree<>(file, PageCodec.INT, PageCodec.INT).close();
+        new MappedBTree<>(file, PageCodec.LONG, PageCodec.INT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void open_PageSizeBeyondShortCount_ShouldThrow() throws IOException {
+        new MappedBTree<>(folder.newFile().toPath(), PageCodec.INT, PageCodec.INT, 1 << 20, 2);
+    }
+
+    @Test
+    public void search_FromAnotherThread_ShouldThrow() throws Exception {
+        try (MappedBTree<Integer, Long> tree = new MappedBTree<>(folder.newFile().toPath(), PageCodec.INT, PageCodec.LONG)) {
+            tree.insert(1, 2L);
+            Throwable[] thrown = new Throwable[1];
+            Thread other = new Thread(() -> {
+                try {
+                    tree.search(1);
+                } catch (Throwable e) {
+                    thrown[0] = e;
+                }
+            });
+            other.start();
+            other.join();
+
+            Assert.assertTrue(thrown[0] instanceof IllegalStateException);
+            Assert.assertEquals(Long.valueOf(2L), tree.search(1));
+        }
+    }
+
+    private static List<Integer> keys(MappedBTree<Integer, Long> tree, int lo, int hi) {
+        List<Integer> keys = new ArrayList<>();
+        tree.rangeScan(lo, hi, (key, value) -> keys.add(key));
+        return keys;
+    }
+}
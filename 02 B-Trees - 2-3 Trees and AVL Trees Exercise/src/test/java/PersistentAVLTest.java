@@ -0,0 +1,76 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class PersistentAVLTest {
+
+    @Test
+    public void insertAndDelete_Random_ShouldMatchTreeSet() {
+        // Arrange
+        PersistentAVL<Integer> avl = new PersistentAVL<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(17);
+
+        // Act
+        for (int i = 0; i < 30000; i++) {
+            int value = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                avl.delete(value);
+                expected.remove(value);
+            } else {
+                avl.insert(value);
+                expected.add(value);
+            }
+        }
+
+        // Assert
+        List<Integer> nodes = new ArrayList<>();
+        avl.eachInOrder(nodes::add);
+        Assert.assertEquals(new ArrayList<>(expected), nodes);
+        Assert.assertEquals(expected.size(), avl.size());
+        Assert.assertTrue(avl.height() <= 1.45 * (Math.log(expected.size() + 2) / Math.log(2)));
+    }
+
+    @Test
+    public void snapshot_ShouldNotSeeLaterUpdates() {
+        // Arrange
+        PersistentAVL<Integer> avl = new PersistentAVL<>();
+        for (int i = 1; i < 10; i++) {
+            avl.insert(i);
+        }
+
+        // Act
+        PersistentAVL<Integer> snapshot = avl.snapshot();
+        avl.delete(4);
+        avl.insert(42);
+
+        // Assert
+        List<Integer> before = new ArrayList<>();
+        snapshot.eachInOrder(before::add);
+        Assert.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), before);
+        Assert.assertTrue(snapshot.contains(4));
+        Assert.assertFalse(snapshot.contains(42));
+        Assert.assertFalse(avl.contains(4));
+        Assert.assertTrue(avl.contains(42));
+        Assert.assertEquals(9, avl.size());
+    }
+
+    @Test
+    public void snapshot_UpdatesOnSnapshot_ShouldNotAffectOriginal() {
+        // Arrange
+        PersistentAVL<Integer> avl = new PersistentAVL<>();
+        avl.insert(1);
+        PersistentAVL<Integer> snapshot = avl.snapshot();
+
+        // Act
+        snapshot.insert(2);
+
+        // Assert
+        Assert.assertEquals(1, avl.size());
+        Assert.assertEquals(2, snapshot.size());
+    }
+}
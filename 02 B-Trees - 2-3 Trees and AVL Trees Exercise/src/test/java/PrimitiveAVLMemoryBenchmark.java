@@ -0,0 +1,55 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.lang.ref.Reference;
+import java.util.function.Supplier;
+
+// Not picked up by the default surefire includes; run with -Dtest=PrimitiveAVLMemoryBenchmark.
+public class PrimitiveAVLMemoryBenchmark {
+
+    private static final int ENTRIES = 2_000_000;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void bytesPerEntry_GenericAVL_Vs_IntAVL_Vs_LongAVL() {
+        System.out.printf("%-12s %14s%n", "tree", "bytes/entry");
+        report("AVL<Integer>", () -> {
+            AVL<Integer> avl = new AVL<>();
+            for (int i = 0; i < ENTRIES; i++) {
+                avl.insert(i * 3);
+            }
+            return avl;
+        });
+        report("IntAVL", () -> {
+            IntAVL avl = new IntAVL(ENTRIES);
+            for (int i = 0; i < ENTRIES; i++) {
+                avl.insert(i * 3);
+            }
+            return avl;
+        });
+        report("LongAVL", () -> {
+            LongAVL avl = new LongAVL(ENTRIES);
+            for (long i = 0; i < ENTRIES; i++) {
+                avl.insert(i * 3);
+            }
+            return avl;
+        });
+    }
+
+    private static void report(String name, Supplier<Object> build) {
+        long before = usedMemory();
+        Object tree = build.get();
+        long after = usedMemory();
+        System.out.printf("%-12s %14.1f%n", name, (after - before) / (double) ENTRIES);
+        Reference.reachabilityFence(tree);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,65 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class StringBPlusTreeTest {
+
+    @Test
+    public void putGetRemove_UrlKeys_ShouldMatchTreeMap() {
+        for (int order : new int[] {3, 4, 7, BPlusTree.DEFAULT_ORDER}) {
+            // Arrange
+            StringBPlusTree<Integer> tree = new StringBPlusTree<>(order);
+            TreeMap<String, Integer> expected = new TreeMap<>();
+            Random random = new Random(order);
+
+            // Act
+            for (int i = 0; i < 30000; i++) {
+                String key = url(random.nextInt(3000));
+                if (random.nextInt(3) == 0) {
+                    Assert.assertEquals(expected.remove(key), tree.remove(key));
+                } else {
+                    Assert.assertEquals(expected.put(key, i), tree.put(key, i));
+                }
+            }
+
+            // Assert
+            Assert.assertEquals(expected.size(), tree.size());
+            for (int i = 0; i < 3000; i++) {
+                Assert.assertEquals(expected.get(url(i)), tree.get(url(i)));
+            }
+            List<String> keys = new ArrayList<>();
+            tree.eachInOrder((key, value) -> keys.add(key));
+            Assert.assertEquals(new ArrayList<>(expected.keySet()), keys);
+        }
+    }
+
+    @Test
+    public void rangeScan_KeysThatArePrefixesOfEachOther_ShouldKeepByteOrder() {
+        // Arrange
+        StringBPlusTree<Integer> tree = new StringBPlusTree<>(3);
+        String[] words = {"a", "ab", "abc", "abd", "b", "", "abcd", "ac", "\u00e9", "z"};
+        for (int i = 0; i < words.length; i++) {
+            tree.put(words[i], i);
+        }
+
+        // Act
+        List<String> range = new ArrayList<>();
+        tree.rangeScan("ab", "abd", (key, value) -> range.add(key));
+        List<String> all = new ArrayList<>();
+        tree.eachInOrder((key, value) -> all.add(key));
+
+        // Assert
+        Assert.assertEquals(List.of("ab", "abc", "abcd", "abd"), range);
+        Assert.assertEquals(List.of("", "a", "ab", "abc", "abcd", "abd", "ac", "b", "z", "\u00e9"), all);
+        Assert.assertEquals(Integer.valueOf(5), tree.get(""));
+        Assert.assertFalse(tree.containsKey("abcde"));
+    }
+
+    private static String url(int id) {
+        return "https://example.com/catalog/products/" + (id % 7) + "/item-" + id;
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.types.PerformanceTests;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+// Not picked up by the default surefire includes; run with -Dtest=StringKeyMemoryBenchmark.
+public class StringKeyMemoryBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void bytesPerEntry_BPlusTree_Vs_StringBPlusTree() {
+        System.out.printf("%-18s %14s %14s%n", "tree", "bytes/entry", "lookup ns");
+        report("BPlusTree<String>", BPlusTree<String, Boolean>::new,
+                (tree, key) -> tree.put(key, Boolean.TRUE), BPlusTree::get);
+        report("StringBPlusTree", StringBPlusTree<Boolean>::new,
+                (tree, key) -> tree.put(key, Boolean.TRUE), StringBPlusTree::get);
+    }
+
+    private static String url(int id) {
+        return "https://example.com/catalog/products/" + (id % 97) + "/item-" + id;
+    }
+
+    private static <T> void report(String name, Supplier<T> build,
+            BiConsumer<T, String> put, BiFunction<T, String, Boolean> get) {
+        long before = usedMemory();
+        T tree = build.get();
+        for (int i = 0; i < ENTRIES; i++) {
+            put.accept(tree, url(i));
+        }
+        long after = usedMemory();
+
+        int lookups = 1_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            get.apply(tree, url(ENTRIES / 3));
+        }
+        long nanos = (System.nanoTime() - start) / lookups;
+
+        System.out.printf("%-18s %14.1f %14d%n", name, (after - before) / (double) ENTRIES, nanos);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
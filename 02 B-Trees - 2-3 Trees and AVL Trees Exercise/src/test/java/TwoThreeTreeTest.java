@@ -1,5 +1,8 @@
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 public class TwoThreeTreeTest {
@@ -44,4 +47,79 @@ public class TwoThreeTreeTest {
 //                "7037 " + System.lineSeparator() +
 //                "8168", tree.getAsString());
     }
+
+    @Test
+    public void testFromSortedFull() {
+        TwoThreeTree<Integer> tree = TwoThreeTree.fromSorted(List.of(1, 2, 3, 4, 5, 6, 7).iterator());
+        assertEquals("3 6" + System.lineSeparator() +
+                "1 2" + System.lineSeparator() +
+                "4 5" + System.lineSeparator() +
+                "7", tree.getAsString());
+    }
+
+    @Test
+    public void testFromSortedHalfFull() {
+        TwoThreeTree<Integer> tree = TwoThreeTree.fromSorted(List.of(1, 2, 3, 4, 5, 6, 7).iterator(), 0.5);
+        assertEquals("4 " + System.lineSeparator() +
+                "2 " + System.lineSeparator() +
+                "1 " + System.lineSeparator() +
+                "3 " + System.lineSeparator() +
+                "6 " + System.lineSeparator() +
+                "5 " + System.lineSeparator() +
+                "7", tree.getAsString());
+    }
+
+    @Test
+    public void testFromSortedEverySize() {
+        for (double fillFactor : new double[] {0.5, 1.0}) {
+            for (int size = 1; size <= 300; size++) {
+                List<Integer> keys = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    keys.add(i);
+                }
+
+                TwoThreeTree<Integer> tree = TwoThreeTree.fromSorted(keys.iterator(), fillFactor);
+
+                List<Integer> inOrder = new ArrayList<>();
+                tree.eachInOrder(inOrder::add);
+                assertEquals(keys, inOrder);
+                assertEquals(keys, balancedInOrder(tree.getAsString()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromSortedUnsorted() {
+        TwoThreeTree.fromSorted(List.of(2, 1).iterator());
+    }
+
+    // Reads getAsString's pre-order lines back as a tree whose leaves all sit at one
+    // depth and returns its keys in order, or null when no such reading exists.
+    private static List<Integer> balancedInOrder(String tree) {
+        String[] lines = tree.split(System.lineSeparator());
+        for (int height = 0; height < lines.length; height++) {
+            List<Integer> keys = new ArrayList<>();
+            int[] next = {0};
+            if (read(lines, next, height, keys) && next[0] == lines.length) {
+                return keys;
+            }
+        }
+        return null;
+    }
+
+    private static boolean read(String[] lines, int[] next, int height, List<Integer> keys) {
+        if (next[0] == lines.length) {
+            return false;
+        }
+        String[] nodeKeys = lines[next[0]++].trim().split(" ");
+        for (int i = 0; i <= nodeKeys.length; i++) {
+            if (height > 0 && !read(lines, next, height - 1, keys)) {
+                return false;
+            }
+            if (i < nodeKeys.length) {
+                keys.add(Integer.parseInt(nodeKeys[i]));
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,71 @@
+package main;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// In package main to reach the reader and a window far smaller than WINDOW, so that
+// lines are cut at every possible offset without a file of hundreds of megabytes.
+public class EdgeFileReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void forEachEdge_LinesCutByEveryWindowSize_ShouldMatchOneWindow() throws IOException {
+        // Arrange
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 300; i++) {
+            content.append((i - 1) / 3).append(i % 5 == 0 ? " , " : ",").append(i).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        Path file = this.write(content.toString());
+        List<String> expected = edges(new EdgeFileReader(file));
+
+        for (int window = 1; window <= 40; window++) {
+            // Act
+            List<String> actual = edges(new EdgeFileReader(file, window));
+
+            // Assert
+            Assert.assertEquals(300, actual.size());
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void load_FileSpanningManyWindows_ShouldHoldEveryNode() throws IOException {
+        // Arrange
+        StringBuilder content = new StringBuilder();
+        for (int i = 20000; i >= 1; i--) {
+            content.append((i - 1) / 4).append(',').append(i).append('\n');
+        }
+        Path file = this.write(content.toString());
+
+        // Act
+        Hierarchy<Integer> hierarchy = Hierarchy.load(new EdgeFileReader(file, 4096), Integer::parseInt, null);
+
+        // Assert
+        Assert.assertEquals(20001, hierarchy.getCount());
+        Assert.assertEquals(4999, (int) hierarchy.getParent(19999));
+        Assert.assertEquals(7, hierarchy.depth(20000));
+    }
+
+    private static List<String> edges(EdgeFileReader reader) {
+        List<String> edges = new ArrayList<>();
+        reader.forEachEdge((parent, child) -> edges.add(parent + "->" + child));
+        return edges;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = this.folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,102 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class Depth extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void Depth_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.depth(-17);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Depth_WithRoot_ShouldReturnZero()
+    {
+        Assert.assertEquals(0, this.Hierarchy.depth(DefaultRootValue));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Depth_AfterRemovingAnAncestor_ShouldDecrease()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        Assert.assertEquals(3, this.Hierarchy.depth(12));
+        Assert.assertEquals(1, this.Hierarchy.depth(20));
+
+        this.Hierarchy.remove(11);
+
+        Assert.assertEquals(2, this.Hierarchy.depth(12));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void DepthAndIsAncestor_InterleavedWithAddsMovesAndRemoves_ShouldMatchParentLinks()
+    {
+        Random random = new Random(19);
+        List<Integer> elements = new ArrayList<>();
+        elements.add(DefaultRootValue);
+        for (int step = 1; step <= 3000; step++)
+        {
+            int operation = random.nextInt(10);
+            if (operation < 6 || elements.size() < 3)
+            {
+                this.Hierarchy.add(elements.get(random.nextInt(elements.size())), 100 + step);
+                elements.add(100 + step);
+            }
+            else if (operation < 8)
+            {
+                int node = elements.get(1 + random.nextInt(elements.size() - 1));
+                int target = elements.get(random.nextInt(elements.size()));
+                if (target != node && !this.Hierarchy.isAncestor(node, target))
+                {
+                    this.Hierarchy.move(node, target);
+                }
+            }
+            else
+            {
+                this.Hierarchy.remove(elements.remove(1 + random.nextInt(elements.size() - 1)));
+            }
+
+            int first = elements.get(random.nextInt(elements.size()));
+            int second = elements.get(random.nextInt(elements.size()));
+            Assert.assertEquals(this.depthByParents(first), this.Hierarchy.depth(first));
+            Assert.assertEquals(this.isAncestorByParents(first, second), this.Hierarchy.isAncestor(first, second));
+        }
+    }
+
+    private int depthByParents(int element)
+    {
+        int depth = 0;
+        for (Integer parent = this.Hierarchy.getParent(element); parent != null; parent = this.Hierarchy.getParent(parent))
+        {
+            depth++;
+        }
+        return depth;
+    }
+
+    private boolean isAncestorByParents(int ancestor, int descendant)
+    {
+        for (Integer parent = this.Hierarchy.getParent(descendant); parent != null; parent = this.Hierarchy.getParent(parent))
+        {
+            if (parent == ancestor)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.helpers.IterableExtensions;
+import test.types.CorrectnessTests;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class Descendants extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void Descendants_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.descendants(-17);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Descendants_WithLeaf_ShouldReturnEmptyCollection()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+
+        Assert.assertEquals(0, IterableExtensions.getCount(this.Hierarchy.descendants(10)));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Descendants_WithNestedSubtrees_ShouldReturnPreOrder()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(10, 14);
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(11, 13);
+        this.Hierarchy.add(20, 21);
+
+        List<Integer> expected = Arrays.asList(11, 12, 13, 14);
+        List<Integer> all = Arrays.asList(10, 11, 12, 13, 14, 20, 21);
+
+        Assert.assertEquals(expected, IterableExtensions.toList(this.Hierarchy.descendants(10)));
+        Assert.assertEquals(all, IterableExtensions.toList(this.Hierarchy.descendants(DefaultRootValue)));
+    }
+}
@@ -0,0 +1,52 @@
+package test.correctness;
+
+import main.ElementIds;
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.helpers.IterableExtensions;
+import test.types.CorrectnessTests;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Difference extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Difference_WithOverlappingHierarchy_ShouldReturnOnlyOwnElements()
+    {
+        Hierarchy<Integer> otherHierarchy = new Hierarchy<>(1);
+        otherHierarchy.add(1, 13);
+        this.Hierarchy.add(DefaultRootValue, 13);
+        this.Hierarchy.add(DefaultRootValue, 7);
+
+        List<Integer> result = IterableExtensions.toList(this.Hierarchy.difference(otherHierarchy));
+        Collections.sort(result);
+
+        Assert.assertEquals(Arrays.asList(DefaultRootValue, 7), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Difference_WithSharedIds_ShouldSkipElementsOfOther()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> first = new Hierarchy<>(1, ids);
+        Hierarchy<Integer> second = new Hierarchy<>(2, ids);
+        first.add(1, 3);
+        first.add(1, 4);
+        first.add(1, 5);
+        second.add(2, 4);
+        second.add(2, 5);
+        second.remove(5);
+
+        List<Integer> result = IterableExtensions.toList(first.difference(second));
+
+        Assert.assertEquals(Arrays.asList(1, 3, 5), result);
+        Assert.assertEquals(0, IterableExtensions.getCount(second.difference(second)));
+    }
+}
@@ -0,0 +1,39 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+public class Distance extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void Distance_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.distance(-17, DefaultRootValue);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Distance_WithSameElement_ShouldReturnZero()
+    {
+        Assert.assertEquals(0, this.Hierarchy.distance(DefaultRootValue, DefaultRootValue));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Distance_BetweenCousins_ShouldCountEdgesThroughCommonAncestor()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(20, 21);
+
+        Assert.assertEquals(5, this.Hierarchy.distance(12, 21));
+        Assert.assertEquals(2, this.Hierarchy.distance(10, 12));
+        Assert.assertEquals(1, this.Hierarchy.distance(21, 20));
+    }
+}
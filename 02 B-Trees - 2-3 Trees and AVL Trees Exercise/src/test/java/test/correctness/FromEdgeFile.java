@@ -0,0 +1,108 @@
+package test.correctness;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import test.helpers.IterableExtensions;
+import test.types.CorrectnessTests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class FromEdgeFile {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void FromEdgeFile_WithEdgesInAnyOrder_ShouldBuildSameHierarchyAsAdd() throws IOException
+    {
+        Path file = write("70,100\n5,50\n5,70\n50,200\n 70 , 120 \r\n\n200,201\n50,300");
+
+        Hierarchy<Integer> hierarchy = Hierarchy.fromEdgeFile(file, Integer::parseInt);
+
+        Assert.assertEquals(8, hierarchy.getCount());
+        Assert.assertEquals(Arrays.asList(5, 50, 70, 200, 300, 100, 120, 201), IterableExtensions.toList(hierarchy));
+        Assert.assertEquals(Arrays.asList(200, 300), IterableExtensions.toList(hierarchy.getChildren(50)));
+        Assert.assertEquals(70, (int) hierarchy.getParent(120));
+        Assert.assertNull(hierarchy.getParent(5));
+
+        hierarchy.add(201, 202);
+        hierarchy.remove(50);
+        Assert.assertEquals(3, hierarchy.depth(202));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void FromEdgeFile_WithStringElements_ShouldUseParser() throws IOException
+    {
+        Path file = write("ceo,cto\nceo,cfo\ncto,dev\n");
+
+        Hierarchy<String> hierarchy = Hierarchy.fromEdgeFile(file, name -> name);
+
+        Assert.assertEquals(4, hierarchy.getCount());
+        Assert.assertTrue(hierarchy.isAncestor("ceo", "dev"));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void FromEdgeFile_WithNonAsciiNames_ShouldKeepEveryCharacter() throws IOException
+    {
+        Path file = write("Zo\u00eb,Jos\u00e9\nZo\u00eb,\u00dcnal\r\n Jos\u00e9 , \u0141ukasz \n");
+
+        Hierarchy<String> hierarchy = Hierarchy.fromEdgeFile(file, name -> name);
+
+        Assert.assertEquals(4, hierarchy.getCount());
+        Assert.assertEquals(Arrays.asList("Jos\u00e9", "\u00dcnal"), IterableExtensions.toList(hierarchy.getChildren("Zo\u00eb")));
+        Assert.assertEquals("Jos\u00e9", hierarchy.getParent("\u0141ukasz"));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void FromEdgeFile_WithChildListedTwice_ShouldThrowException() throws IOException
+    {
+        Hierarchy.fromEdgeFile(write("1,2\n1,3\n3,2\n"), Integer::parseInt);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void FromEdgeFile_WithTwoRoots_ShouldThrowException() throws IOException
+    {
+        Hierarchy.fromEdgeFile(write("1,2\n3,4\n"), Integer::parseInt);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void FromEdgeFile_WithDetachedCycle_ShouldThrowException() throws IOException
+    {
+        Hierarchy.fromEdgeFile(write("1,2\n3,4\n4,3\n"), Integer::parseInt);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void FromEdgeFile_WithEmptyFile_ShouldThrowException() throws IOException
+    {
+        Hierarchy.fromEdgeFile(write(""), Integer::parseInt);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void FromEdgeFile_WithMalformedLine_ShouldThrowException() throws IOException
+    {
+        Hierarchy.fromEdgeFile(write("1,2\n2 3\n"), Integer::parseInt);
+    }
+
+    private Path write(String content) throws IOException
+    {
+        Path file = this.folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -1,6 +1,7 @@
 package test.correctness;
 
 
+import main.ElementIds;
 import main.Hierarchy;
 import org.junit.Assert;
 import org.junit.Test;
@@ -60,4 +61,46 @@ public class GetCommonElements extends BaseTest {
         Collections.sort(result);
         Assert.assertTrue(result.equals(Arrays.asList(-22, 10, 34)));
     }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetCommonElements_WithSharedIds_ShouldReturnElementsOfBothInIdOrder()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> first = new Hierarchy<>(10, ids);
+        Hierarchy<Integer> second = new Hierarchy<>(20, ids);
+        first.add(10, 34);
+        first.add(10, -22);
+        first.add(-22, 20);
+        second.add(20, -22);
+        second.add(20, 34);
+        second.add(20, 10);
+        second.remove(10);
+
+        List<Integer> result = IterableExtensions.toList(first.getCommonElements(second));
+
+        Assert.assertEquals(Arrays.asList(20, 34, -22), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetCommonElements_WithSharedOrSeparateIds_ShouldKeepTheSameOrder()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> first = new Hierarchy<>(1, ids);
+        Hierarchy<Integer> shared = new Hierarchy<>(2, ids);
+        Hierarchy<Integer> separate = new Hierarchy<>(2, new ElementIds<>());
+        for (int child : new int[] { 9, 3, 7 })
+        {
+            first.add(1, child);
+        }
+        for (int child : new int[] { 7, 3, 9 })
+        {
+            shared.add(2, child);
+            separate.add(2, child);
+        }
+
+        Assert.assertEquals(Arrays.asList(9, 3, 7), IterableExtensions.toList(first.getCommonElements(shared)));
+        Assert.assertEquals(Arrays.asList(9, 3, 7), IterableExtensions.toList(first.getCommonElements(separate)));
+    }
 }
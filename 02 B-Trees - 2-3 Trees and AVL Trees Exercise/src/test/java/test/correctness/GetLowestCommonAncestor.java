@@ -0,0 +1,127 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class GetLowestCommonAncestor extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void GetLowestCommonAncestor_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.getLowestCommonAncestor(DefaultRootValue, -17);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetLowestCommonAncestor_WithSameElement_ShouldReturnIt()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(10, 10));
+        Assert.assertEquals(DefaultRootValue, (int) this.Hierarchy.getLowestCommonAncestor(DefaultRootValue, DefaultRootValue));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetLowestCommonAncestor_WithAncestorAndDescendant_ShouldReturnAncestor()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(10, 12));
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(12, 10));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetLowestCommonAncestor_WithSubtreesOfDifferentDepth_ShouldReturnFork()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(10, 14);
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(12, 13);
+        this.Hierarchy.add(20, 21);
+
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(13, 14));
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(14, 13));
+        Assert.assertEquals(DefaultRootValue, (int) this.Hierarchy.getLowestCommonAncestor(13, 21));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetLowestCommonAncestor_AfterRemove_ShouldReflectNewStructure()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(10, 12);
+        Assert.assertEquals(10, (int) this.Hierarchy.getLowestCommonAncestor(11, 12));
+
+        this.Hierarchy.remove(10);
+
+        Assert.assertEquals(DefaultRootValue, (int) this.Hierarchy.getLowestCommonAncestor(11, 12));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void GetLowestCommonAncestor_InterleavedWithAddsMovesAndRemoves_ShouldMatchParentLinks()
+    {
+        Random random = new Random(20);
+        List<Integer> elements = new ArrayList<>();
+        elements.add(DefaultRootValue);
+        for (int step = 1; step <= 3000; step++)
+        {
+            int operation = random.nextInt(10);
+            if (operation < 6 || elements.size() < 3)
+            {
+                this.Hierarchy.add(elements.get(random.nextInt(elements.size())), 100 + step);
+                elements.add(100 + step);
+            }
+            else if (operation < 8)
+            {
+                int node = elements.get(1 + random.nextInt(elements.size() - 1));
+                int target = elements.get(random.nextInt(elements.size()));
+                if (target != node && !this.Hierarchy.isAncestor(node, target))
+                {
+                    this.Hierarchy.move(node, target);
+                }
+            }
+            else
+            {
+                this.Hierarchy.remove(elements.remove(1 + random.nextInt(elements.size() - 1)));
+            }
+
+            int first = elements.get(random.nextInt(elements.size()));
+            int second = elements.get(random.nextInt(elements.size()));
+            Assert.assertEquals(this.lowestCommonAncestorByParents(first, second),
+                    this.Hierarchy.getLowestCommonAncestor(first, second));
+        }
+    }
+
+    private Integer lowestCommonAncestorByParents(Integer first, Integer second)
+    {
+        Set<Integer> ancestors = new HashSet<>();
+        for (Integer node = first; node != null; node = this.Hierarchy.getParent(node))
+        {
+            ancestors.add(node);
+        }
+        Integer node = second;
+        while (!ancestors.contains(node))
+        {
+            node = this.Hierarchy.getParent(node);
+        }
+        return node;
+    }
+}
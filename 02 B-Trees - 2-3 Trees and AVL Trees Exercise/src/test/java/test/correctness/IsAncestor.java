@@ -0,0 +1,59 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+public class IsAncestor extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void IsAncestor_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.isAncestor(DefaultRootValue, -17);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void IsAncestor_WithElementsOnOnePath_ShouldReturnTrueOnlyDownwards()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+
+        Assert.assertTrue(this.Hierarchy.isAncestor(DefaultRootValue, 12));
+        Assert.assertTrue(this.Hierarchy.isAncestor(10, 11));
+        Assert.assertFalse(this.Hierarchy.isAncestor(12, 10));
+        Assert.assertFalse(this.Hierarchy.isAncestor(11, 11));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void IsAncestor_WithSiblingSubtrees_ShouldReturnFalse()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(20, 21);
+
+        Assert.assertFalse(this.Hierarchy.isAncestor(10, 21));
+        Assert.assertFalse(this.Hierarchy.isAncestor(21, 11));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void IsAncestor_AfterAddAndRemove_ShouldReflectNewStructure()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        Assert.assertTrue(this.Hierarchy.isAncestor(10, 11));
+
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.remove(10);
+
+        Assert.assertTrue(this.Hierarchy.isAncestor(11, 12));
+        Assert.assertTrue(this.Hierarchy.isAncestor(DefaultRootValue, 11));
+    }
+}
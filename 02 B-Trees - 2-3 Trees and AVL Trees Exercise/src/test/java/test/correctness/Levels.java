@@ -0,0 +1,53 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class Levels extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Levels_WithOnlyRoot_ShouldReturnOneLevel()
+    {
+        List<List<Integer>> result = this.Hierarchy.levels().collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList(Arrays.asList(DefaultRootValue)), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Levels_WithMultipleElements_ShouldReturnBreadthFirstLevels()
+    {
+        this.Hierarchy.add(DefaultRootValue, 50);
+        this.Hierarchy.add(DefaultRootValue, 70);
+        this.Hierarchy.add(70, 100);
+        this.Hierarchy.add(50, 200);
+        this.Hierarchy.add(70, 120);
+        this.Hierarchy.add(200, 201);
+
+        List<List<Integer>> result = this.Hierarchy.levels().collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList(
+                Arrays.asList(DefaultRootValue),
+                Arrays.asList(50, 70),
+                Arrays.asList(200, 100, 120),
+                Arrays.asList(201)), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Levels_WithLimit_ShouldStopEarly()
+    {
+        this.Hierarchy.add(DefaultRootValue, 50);
+        this.Hierarchy.add(50, 200);
+
+        Assert.assertEquals(2, this.Hierarchy.levels().limit(2).count());
+    }
+}
@@ -0,0 +1,94 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.helpers.IterableExtensions;
+import test.types.CorrectnessTests;
+
+import java.util.Arrays;
+
+public class Move extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void Move_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.move(-17, DefaultRootValue);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalStateException.class)
+    public void Move_WithRootElement_ShouldThrowException()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+
+        this.Hierarchy.move(DefaultRootValue, 10);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void Move_UnderOwnDescendant_ShouldThrowException()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+
+        this.Hierarchy.move(10, 12);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Move_WithSubtree_ShouldReparentWholeSubtreeAsLastChild()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(10, 12);
+        this.Hierarchy.add(10, 13);
+        this.Hierarchy.add(12, 14);
+        this.Hierarchy.add(20, 21);
+
+        this.Hierarchy.move(12, 20);
+
+        Assert.assertEquals(20, (int) this.Hierarchy.getParent(12));
+        Assert.assertEquals(12, (int) this.Hierarchy.getParent(14));
+        Assert.assertEquals(Arrays.asList(11, 13), IterableExtensions.toList(this.Hierarchy.getChildren(10)));
+        Assert.assertEquals(Arrays.asList(21, 12), IterableExtensions.toList(this.Hierarchy.getChildren(20)));
+        Assert.assertEquals(3, this.Hierarchy.depth(14));
+        Assert.assertTrue(this.Hierarchy.isAncestor(20, 14));
+        Assert.assertEquals(8, this.Hierarchy.getCount());
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Move_UnderSameParent_ShouldMakeElementLastChild()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(DefaultRootValue, 30);
+
+        this.Hierarchy.move(10, DefaultRootValue);
+
+        Assert.assertEquals(Arrays.asList(20, 30, 10), IterableExtensions.toList(this.Hierarchy.getChildren(DefaultRootValue)));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Remove_AfterMove_ShouldAttachChildrenToNewParent()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(11, 13);
+
+        this.Hierarchy.move(11, 20);
+        this.Hierarchy.remove(11);
+
+        Assert.assertEquals(Arrays.asList(12, 13), IterableExtensions.toList(this.Hierarchy.getChildren(20)));
+        Assert.assertEquals(0, IterableExtensions.getCount(this.Hierarchy.getChildren(10)));
+        Assert.assertEquals(Arrays.asList(DefaultRootValue, 10, 20, 12, 13), IterableExtensions.toList(this.Hierarchy));
+    }
+}
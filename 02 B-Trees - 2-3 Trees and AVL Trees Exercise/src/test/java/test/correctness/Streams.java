@@ -0,0 +1,81 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+public class Streams extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Stream_WithMultipleElements_ShouldVisitSubtreesDepthFirst()
+    {
+        this.Hierarchy.add(DefaultRootValue, 50);
+        this.Hierarchy.add(DefaultRootValue, 70);
+        this.Hierarchy.add(50, 200);
+        this.Hierarchy.add(200, 201);
+        this.Hierarchy.add(50, 300);
+        this.Hierarchy.add(70, 100);
+
+        List<Integer> result = this.Hierarchy.stream().collect(Collectors.toList());
+
+        Assert.assertEquals(Arrays.asList(DefaultRootValue, 50, 200, 201, 300, 70, 100), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void ParallelStream_WithWideAndDeepSubtrees_ShouldVisitEveryElementOnce()
+    {
+        List<Integer> expected = new ArrayList<>();
+        expected.add(DefaultRootValue);
+        for (int i = 1; i <= 100; i++)
+        {
+            this.Hierarchy.add(DefaultRootValue, i * 1000);
+            expected.add(i * 1000);
+            for (int j = 1; j < i; j++)
+            {
+                this.Hierarchy.add(i * 1000 + j - 1, i * 1000 + j);
+                expected.add(i * 1000 + j);
+            }
+        }
+
+        List<Integer> result = this.Hierarchy.parallelStream().collect(Collectors.toList());
+        Collections.sort(result);
+        Collections.sort(expected);
+
+        Assert.assertEquals(expected, result);
+        Assert.assertEquals(this.Hierarchy.getCount(), this.Hierarchy.parallelStream().mapToInt(e -> 1).sum());
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Spliterator_WithSingleChain_ShouldSplitAtChildBoundaries()
+    {
+        this.Hierarchy.add(DefaultRootValue, 1);
+        this.Hierarchy.add(1, 2);
+        this.Hierarchy.add(1, 3);
+        this.Hierarchy.add(3, 4);
+
+        Spliterator<Integer> first = this.Hierarchy.spliterator();
+        Spliterator<Integer> second = first.trySplit();
+        Assert.assertNotNull(second);
+        Assert.assertNull(first.trySplit());
+
+        List<Integer> kept = new ArrayList<>();
+        List<Integer> given = new ArrayList<>();
+        first.forEachRemaining(kept::add);
+        second.forEachRemaining(given::add);
+
+        Assert.assertEquals(Arrays.asList(DefaultRootValue, 1, 2), kept);
+        Assert.assertEquals(Arrays.asList(3, 4), given);
+    }
+}
@@ -0,0 +1,70 @@
+package test.correctness;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.types.CorrectnessTests;
+
+public class SubtreeSize extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test(expected = IllegalArgumentException.class)
+    public void SubtreeSize_WithNonExistantElement_ShouldThrowException()
+    {
+        this.Hierarchy.subtreeSize(-17);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void SubtreeSize_WithRoot_ShouldReturnCount()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(DefaultRootValue, 20);
+        this.Hierarchy.add(10, 11);
+        this.Hierarchy.add(10, 12);
+
+        Assert.assertEquals(this.Hierarchy.getCount(), this.Hierarchy.subtreeSize(DefaultRootValue));
+        Assert.assertEquals(3, this.Hierarchy.subtreeSize(10));
+        Assert.assertEquals(1, this.Hierarchy.subtreeSize(20));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void SubtreeSize_AfterAddAndRemove_ShouldBeUpdated()
+    {
+        this.Hierarchy.add(DefaultRootValue, 10);
+        this.Hierarchy.add(10, 11);
+        Assert.assertEquals(2, this.Hierarchy.subtreeSize(10));
+
+        this.Hierarchy.add(11, 12);
+        this.Hierarchy.add(11, 13);
+        Assert.assertEquals(4, this.Hierarchy.subtreeSize(10));
+
+        this.Hierarchy.remove(11);
+        Assert.assertEquals(3, this.Hierarchy.subtreeSize(10));
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void SubtreeSize_RepeatedAfterEachMove_ShouldBeUpdated()
+    {
+        for (int i = 1; i <= 10; i++)
+        {
+            this.Hierarchy.add(DefaultRootValue, 100 + i);
+            this.Hierarchy.add(100 + i, 200 + i);
+        }
+
+        for (int i = 2; i <= 10; i++)
+        {
+            this.Hierarchy.move(100 + i, 100 + i - 1);
+            for (int query = 0; query < 3; query++)
+            {
+                Assert.assertEquals(21, this.Hierarchy.subtreeSize(DefaultRootValue));
+                Assert.assertEquals(2 * i, this.Hierarchy.subtreeSize(101));
+                Assert.assertEquals(2 * (i - 1), this.Hierarchy.subtreeSize(102));
+                Assert.assertEquals(1, this.Hierarchy.subtreeSize(201));
+            }
+        }
+    }
+}
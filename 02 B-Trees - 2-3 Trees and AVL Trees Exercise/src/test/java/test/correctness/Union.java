@@ -0,0 +1,75 @@
+package test.correctness;
+
+import main.ElementIds;
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BaseTest;
+import test.helpers.IterableExtensions;
+import test.types.CorrectnessTests;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Union extends BaseTest {
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Union_WithOverlappingHierarchy_ShouldReturnEachElementOnce()
+    {
+        Hierarchy<Integer> otherHierarchy = new Hierarchy<>(1);
+        otherHierarchy.add(1, 13);
+        otherHierarchy.add(1, DefaultRootValue);
+        this.Hierarchy.add(DefaultRootValue, 13);
+        this.Hierarchy.add(DefaultRootValue, 7);
+
+        List<Integer> result = IterableExtensions.toList(this.Hierarchy.union(otherHierarchy));
+        Collections.sort(result);
+
+        Assert.assertEquals(Arrays.asList(1, DefaultRootValue, 7, 13), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Union_WithSharedIds_ShouldMatchElementsOfBoth()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> first = new Hierarchy<>(1, ids);
+        Hierarchy<Integer> second = new Hierarchy<>(2, ids);
+        first.add(1, 3);
+        first.add(3, 4);
+        second.add(2, 4);
+        second.add(2, 5);
+        first.remove(3);
+
+        List<Integer> result = IterableExtensions.toList(first.union(second));
+        Collections.sort(result);
+
+        Assert.assertEquals(Arrays.asList(1, 2, 4, 5), result);
+    }
+
+    @Category(CorrectnessTests.class)
+    @Test
+    public void Union_WithSharedOrSeparateIds_ShouldKeepTheSameOrder()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> first = new Hierarchy<>(1, ids);
+        Hierarchy<Integer> shared = new Hierarchy<>(2, ids);
+        Hierarchy<Integer> separate = new Hierarchy<>(2, new ElementIds<>());
+        for (int child : new int[] { 9, 3, 7 })
+        {
+            first.add(1, child);
+        }
+        for (int child : new int[] { 7, 8, 3, 4 })
+        {
+            shared.add(2, child);
+            separate.add(2, child);
+        }
+
+        List<Integer> expected = Arrays.asList(1, 9, 3, 7, 2, 8, 4);
+        Assert.assertEquals(expected, IterableExtensions.toList(first.union(shared)));
+        Assert.assertEquals(expected, IterableExtensions.toList(first.union(separate)));
+    }
+}
@@ -0,0 +1,61 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import test.types.PerformanceTests;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class FromEdgeFilePerformance {
+
+    private Random random = new Random();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceFromEdgeFile_With100000ShuffledEdges() throws IOException
+    {
+        int count = 100000;
+        int[] children = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            children[i] = i + 1;
+        }
+        for (int i = count - 1; i > 0; i--)
+        {
+            int j = this.random.nextInt(i + 1);
+            int swap = children[i];
+            children[i] = children[j];
+            children[j] = swap;
+        }
+
+        Path file = this.folder.newFile().toPath();
+        try (BufferedWriter writer = Files.newBufferedWriter(file))
+        {
+            for (int child : children)
+            {
+                writer.write((child - 1) / 4 + "," + child + "\n");
+            }
+        }
+
+        long start = System.currentTimeMillis();
+
+        Hierarchy<Integer> hierarchy = Hierarchy.fromEdgeFile(file, Integer::parseInt);
+
+        // Unlike the other budgets this one covers reading and parsing the file as well.
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 1000);
+        Assert.assertEquals(count + 1, hierarchy.getCount());
+        Assert.assertEquals(24999, (int) hierarchy.getParent(99999));
+    }
+}
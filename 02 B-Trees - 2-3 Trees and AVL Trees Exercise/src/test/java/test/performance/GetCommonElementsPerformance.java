@@ -1,5 +1,6 @@
 package test.performance;
 
+import main.ElementIds;
 import main.Hierarchy;
 import org.junit.Assert;
 import org.junit.Test;
@@ -65,4 +66,28 @@ public class GetCommonElementsPerformance extends BasePerformanceTest {
         long end = System.currentTimeMillis();
         Assert.assertTrue(end - start < 200);
     }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceGetCommonElements_WithSharedIdsAnd500000ElementsEach()
+    {
+        ElementIds<Integer> ids = new ElementIds<>();
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0, ids);
+        Hierarchy<Integer> hierarchy2 = new Hierarchy<>(-1, ids);
+
+        for (int i = 1; i <= 500000; i++)
+        {
+            hierarchy.add(i - 1, i);
+            hierarchy2.add(-1, i % 2 == 0 ? i : -1 - i);
+        }
+
+        long start = System.currentTimeMillis();
+
+        Assert.assertEquals(250000, IterableExtensions.getCount(hierarchy.getCommonElements(hierarchy2)));
+        Assert.assertEquals(750002, IterableExtensions.getCount(hierarchy2.union(hierarchy)));
+        Assert.assertEquals(250001, IterableExtensions.getCount(hierarchy.difference(hierarchy2)));
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
 }
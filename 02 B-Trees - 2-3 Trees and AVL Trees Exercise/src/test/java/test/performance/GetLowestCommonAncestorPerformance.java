@@ -0,0 +1,65 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BasePerformanceTest;
+import test.types.PerformanceTests;
+
+public class GetLowestCommonAncestorPerformance extends BasePerformanceTest {
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceGetLowestCommonAncestor_With25000QueriesOnTwoChainsOf25000Elements()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        hierarchy.add(0, 1);
+        hierarchy.add(0, 25001);
+        for (int i = 1; i < 25000; i++)
+        {
+            hierarchy.add(i, i + 1);
+            hierarchy.add(25000 + i, 25001 + i);
+        }
+
+        // A first query warms up; the batch after it is what is timed.
+        hierarchy.getLowestCommonAncestor(1, 25001);
+        long start = System.currentTimeMillis();
+
+        for (int i = 0; i < 25000; i++)
+        {
+            int first = 1 + this.random.nextInt(25000);
+            int second = 1 + this.random.nextInt(25000);
+            Assert.assertEquals(0, (int) hierarchy.getLowestCommonAncestor(first, 25000 + second));
+            Assert.assertEquals(Math.min(first, second), (int) hierarchy.getLowestCommonAncestor(first, second));
+            Assert.assertEquals(first + second, hierarchy.distance(first, 25000 + second));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceGetLowestCommonAncestor_With25000QueriesEachAfterGrowingTwoChains()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        hierarchy.add(0, 1);
+        hierarchy.add(0, 25001);
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i < 25000; i++)
+        {
+            hierarchy.add(i, i + 1);
+            hierarchy.add(25000 + i, 25001 + i);
+            int first = 1 + this.random.nextInt(i + 1);
+            Assert.assertEquals(0, (int) hierarchy.getLowestCommonAncestor(first, 25001 + i));
+            Assert.assertEquals(first, (int) hierarchy.getLowestCommonAncestor(first, i + 1));
+            Assert.assertEquals(first + i + 1, hierarchy.distance(first, 25001 + i));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+}
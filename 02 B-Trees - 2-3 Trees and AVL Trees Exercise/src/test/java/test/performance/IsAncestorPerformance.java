@@ -0,0 +1,56 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BasePerformanceTest;
+import test.types.PerformanceTests;
+
+public class IsAncestorPerformance extends BasePerformanceTest {
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceIsAncestor_With50000QueriesOnAChainOf50000Elements()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        for (int i = 1; i <= 50000; i++)
+        {
+            hierarchy.add(i - 1, i);
+        }
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i <= 50000; i++)
+        {
+            Assert.assertTrue(hierarchy.isAncestor(i - 1, 50000));
+            Assert.assertFalse(hierarchy.isAncestor(50000, i));
+            Assert.assertEquals(i, hierarchy.depth(i));
+            Assert.assertEquals(50001 - i, hierarchy.subtreeSize(i));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceIsAncestor_With50000QueriesEachAfterAnAdd()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i <= 50000; i++)
+        {
+            int parent = this.random.nextInt(10) == 0 ? this.random.nextInt(i) : i - 1;
+            hierarchy.add(parent, i);
+            Assert.assertTrue(hierarchy.isAncestor(0, i));
+            Assert.assertTrue(hierarchy.isAncestor(parent, i));
+            Assert.assertEquals(hierarchy.depth(parent) + 1, hierarchy.depth(i));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+}
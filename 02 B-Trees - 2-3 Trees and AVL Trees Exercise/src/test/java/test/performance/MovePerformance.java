@@ -0,0 +1,98 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BasePerformanceTest;
+import test.helpers.IterableExtensions;
+import test.types.PerformanceTests;
+
+public class MovePerformance extends BasePerformanceTest {
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceRemove_With100000ChildrenOfOneParentInRandomOrder()
+    {
+        int count = 100000;
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        int[] order = new int[count];
+        for (int i = 1; i <= count; i++)
+        {
+            hierarchy.add(0, i);
+            order[i - 1] = i;
+        }
+        for (int i = count - 1; i > 0; i--)
+        {
+            int j = this.random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        long start = System.currentTimeMillis();
+
+        for (int element : order)
+        {
+            hierarchy.remove(element);
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+        Assert.assertEquals(1, hierarchy.getCount());
+    }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceMove_With50000SubtreesBetweenTwoWideParents()
+    {
+        int count = 50000;
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        hierarchy.add(0, -1);
+        hierarchy.add(0, -2);
+        for (int i = 1; i <= count; i++)
+        {
+            hierarchy.add(-1, i);
+            hierarchy.add(i, count + i);
+        }
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i <= count; i++)
+        {
+            hierarchy.move(this.random.nextInt(count) + 1, i % 2 == 0 ? -1 : -2);
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+        long moved = IterableExtensions.getCount(hierarchy.getChildren(-1)) + IterableExtensions.getCount(hierarchy.getChildren(-2));
+        Assert.assertEquals(count, moved);
+        Assert.assertEquals(2 * count + 3, hierarchy.getCount());
+    }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceMove_With50000LeafMovesAlongAChainOf50000Elements()
+    {
+        int count = 50000;
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        for (int i = 1; i < count; i++)
+        {
+            hierarchy.add(i - 1, i);
+        }
+        hierarchy.add(count - 1, count);
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i <= count; i++)
+        {
+            int target = this.random.nextInt(count);
+            hierarchy.move(count, target);
+            Assert.assertEquals(target + 1, hierarchy.depth(count));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+        Assert.assertTrue(hierarchy.isAncestor(0, count));
+    }
+}
@@ -0,0 +1,57 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BasePerformanceTest;
+import test.types.PerformanceTests;
+
+import java.util.List;
+
+public class StreamPerformance extends BasePerformanceTest {
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceParallelStream_With100000ElementsIn100Subtrees()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        int counter = 1;
+        for (int i = 0; i < 100; i++)
+        {
+            int parent = counter++;
+            hierarchy.add(0, parent);
+            for (int j = 1; j < 1000; j++)
+            {
+                hierarchy.add(this.random.nextInt(j) + parent, counter++);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+
+        long sum = hierarchy.parallelStream().mapToLong(Integer::longValue).sum();
+        Assert.assertEquals((long) (counter - 1) * counter / 2, sum);
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceLevels_WithChainOf50000Elements()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+        for (int i = 1; i <= 50000; i++)
+        {
+            hierarchy.add(i - 1, i);
+        }
+
+        long start = System.currentTimeMillis();
+
+        long levels = hierarchy.levels().mapToInt(List::size).filter(size -> size == 1).count();
+        Assert.assertEquals(50001, levels);
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+    }
+}
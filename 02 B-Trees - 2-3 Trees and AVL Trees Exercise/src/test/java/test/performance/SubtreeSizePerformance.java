@@ -0,0 +1,32 @@
+package test.performance;
+
+import main.Hierarchy;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import test.helpers.BasePerformanceTest;
+import test.helpers.IterableExtensions;
+import test.types.PerformanceTests;
+
+public class SubtreeSizePerformance extends BasePerformanceTest {
+
+    @Category(PerformanceTests.class)
+    @Test
+    public void PerformanceSubtreeSize_With50000QueriesEachAfterAnAdd()
+    {
+        Hierarchy<Integer> hierarchy = new Hierarchy<>(0);
+
+        long start = System.currentTimeMillis();
+
+        for (int i = 1; i <= 50000; i++)
+        {
+            hierarchy.add(this.random.nextInt(i), i);
+            Assert.assertEquals(1, hierarchy.subtreeSize(i));
+            Assert.assertEquals(0, IterableExtensions.getCount(hierarchy.descendants(i)));
+        }
+
+        long end = System.currentTimeMillis();
+        Assert.assertTrue(end - start < 200);
+        Assert.assertEquals(50001, hierarchy.subtreeSize(0));
+    }
+}